@@ -14,13 +14,59 @@
  * - Ship represents an individual ship and tracks its positions and hits.
  * - Player wraps a board and the player's fleet, and track stats.
  * - AI provides a simple opponent using availableTargets and a targetQueue.
+ * - PlacementModel remembers where human players like to put ships, so the AI can hunt there first.
+ * - GameSimulator plays headless games, PlacementOptimizer uses it to find fleet layouts that are hard to hunt.
+ * - TargetDensity counts the ways the remaining ships fit, OpeningBook turns that into the AI's first hunt shots.
  * - GameEngine it contains the phases, setupPhase (placing fleet) and battlePhase (take turns).
+ * - FreeForAllEngine runs 3 to 16 players in rounds, every player shoots once per round.
+ * - GameResult, SimulationStats and ResultExporter collect and stream out the results of simulated games.
+ * - SimulationCoordinator splits big simulations over worker processes and merges their totals.
+ * - DifferentialVerifier checks Board and AI against a plain reference in lockstep (--verify).
+ * - TargetAssist optionally shades the opponent's board by how likely each cell is to hold a ship.
+ * - ShotAnalyzer rates every shot of a finished game against the best shot available at the time.
  */
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.Scanner;
 import java.util.Random;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 public class ShipHunters {
     private static final Scanner scn = new Scanner(System.in);
@@ -34,6 +80,11 @@ public class ShipHunters {
     //application entry point. Sets console theme  and show welcome.
     //show menu repeatedly until the user exits.
     public static void main(String[] args){
+        if (args.length > 0) {
+            runCommand(args); // offline tools, no menu
+            return;
+        }
+
         setConsoleThemePurplePink(); //try to tint console output
         clearTerminal();   // clear the screen for welcome box
         showWelcome();     // print game title and subtitle
@@ -49,6 +100,9 @@ public class ShipHunters {
                 case 2:
                     showHighScores(); // show scores, but disregard this because the showHighScores options removed.
                     break;
+                case 4:
+                    playFreeForAll(); // start a free-for-all game
+                    break;
                 case 3:
                     resetConsoleColors(); // restore console colors on exit
                     System.out.println("\nThank you for playing SHIPS HUNTER!");
@@ -64,6 +118,146 @@ public class ShipHunters {
         }
     }
 
+    // command line tools that run without the menu, e.g. "java ShipHunters --optimize-layouts"
+    private static void runCommand(String[] args) {
+        switch (args[0]) {
+            case "--optimize-layouts":
+                PlacementOptimizer.run(PlacementOptimizer.defaultFile(), System.currentTimeMillis());
+                break;
+            case "--simulate":
+                if (optionValue(args, "--workers") != null) {
+                    simulateInWorkers(args);
+                } else {
+                    simulate(args);
+                }
+                break;
+            case "--verify":
+                verify(args);
+                break;
+            case "--analyse":
+                analyse(args);
+                break;
+            case "--worker":
+                SimulationCoordinator.workerLoop(); // started by the coordinator, not by hand
+                break;
+            default:
+                System.out.println("Unknown option: " + args[0]);
+                System.out.println("Options: --optimize-layouts");
+                System.out.println("         --simulate <games> [--seed <n>] [--export <file.csv|file.shx>] [--shots]");
+                System.out.println("         --simulate <games> --workers <processes> [--seed <n>]");
+                System.out.println("         --verify <cases> [--seed <n>]");
+                System.out.println("         --analyse <games> [--seed <n>]");
+        }
+    }
+
+    // plays AI-vs-AI games with seeds seed, seed+1, ... and prints the totals
+    private static void simulate(String[] args) {
+        long games = args.length > 1 ? Long.parseLong(args[1]) : 1000;
+        String seedOption = optionValue(args, "--seed");
+        long seed = seedOption != null ? Long.parseLong(seedOption) : System.currentTimeMillis();
+        String export = optionValue(args, "--export");
+        boolean shots = Arrays.asList(args).contains("--shots");
+
+        long start = System.nanoTime();
+        SimulationStats stats = new SimulationStats();
+        ResultExporter exporter = export != null ? new ResultExporter(Paths.get(export), shots) : null;
+        try {
+            try {
+                for (long g = 0; g < games; g++) {
+                    GameResult result = GameSimulator.play(seed + g, exporter != null && shots);
+                    stats.add(result);
+                    if (exporter != null) exporter.submit(result);
+                }
+            } finally {
+                if (exporter != null) exporter.close();
+            }
+        } catch (UncheckedIOException | IllegalStateException e) {
+            System.out.println(e.getMessage()); // the exporter's failure, e.g. an unwritable --export path
+            return;
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        stats.print();
+        System.out.println("Setup: " + GameSimulator.setup());
+        System.out.printf("Seeds %d to %d, %.1f s (%.0f games/s)%n", seed, seed + games - 1, seconds, games / seconds);
+    }
+
+    // same as simulate, but the seeds are shared out to separate worker processes
+    private static void simulateInWorkers(String[] args) {
+        long games = args.length > 1 ? Long.parseLong(args[1]) : 1000;
+        String seedOption = optionValue(args, "--seed");
+        long seed = seedOption != null ? Long.parseLong(seedOption) : System.currentTimeMillis();
+        int workers = Integer.parseInt(optionValue(args, "--workers"));
+        if (!SimulationCoordinator.canStartWorkers()) {
+            System.out.println("--workers needs compiled classes: run javac ShipHunters.java, then java ShipHunters ...");
+            return;
+        }
+        if (optionValue(args, "--export") != null) {
+            System.out.println("--export is not supported with --workers, workers only send totals back.");
+        }
+
+        long start = System.nanoTime();
+        SimulationStats stats = new SimulationCoordinator(workers).run(seed, games);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        stats.print();
+        System.out.printf("Seeds %d to %d, %d workers, %.1f s (%.0f games/s)%n",
+                seed, seed + games - 1, workers, seconds, games / seconds);
+    }
+
+    // runs the Board and AI checks for the given number of seeded cases
+    private static void verify(String[] args) {
+        long cases = args.length > 1 ? Long.parseLong(args[1]) : 100000;
+        String seedOption = optionValue(args, "--seed");
+        long seed = seedOption != null ? Long.parseLong(seedOption) : System.currentTimeMillis();
+
+        long start = System.nanoTime();
+        boolean ok = DifferentialVerifier.verifyBoards(seed, cases) & DifferentialVerifier.verifyAI(seed, cases);
+        System.out.printf("%s, seeds %d to %d, %.1f s%n", ok ? "No divergence" : "DIVERGENCE FOUND",
+                seed, seed + cases - 1, (System.nanoTime() - start) / 1e9);
+    }
+
+    // simulates games and rates every shot in them, printing the totals per AI
+    private static void analyse(String[] args) {
+        long games = args.length > 1 ? Long.parseLong(args[1]) : 1000;
+        String seedOption = optionValue(args, "--seed");
+        long seed = seedOption != null ? Long.parseLong(seedOption) : System.currentTimeMillis();
+
+        long analyseNanos = 0;
+        long[] shots = new long[2];
+        long[] best = new long[2];
+        double[] chance = new double[2];
+        double[] lost = new double[2];
+        for (long g = 0; g < games; g++) {
+            Player[] players = {new Player("AI 1", true), new Player("AI 2", true)};
+            GameResult result = GameSimulator.play(seed + g, true, players);
+
+            long start = System.nanoTime();
+            List<ShotAnalyzer.Rating> ratings = ShotAnalyzer.analyze(result.shots, players);
+            analyseNanos += System.nanoTime() - start;
+
+            for (ShotAnalyzer.Rating rating : ratings) {
+                shots[rating.shooter]++;
+                chance[rating.shooter] += rating.chance;
+                lost[rating.shooter] += rating.lost();
+                if (rating.isBest()) best[rating.shooter]++;
+            }
+        }
+
+        for (int p = 0; p < 2; p++) {
+            System.out.printf("AI %d: %d shots, average chance %.1f%%, best shot %.1f%% of the time, %.2f expected shots lost per game%n",
+                    p + 1, shots[p], 100 * chance[p] / shots[p], 100.0 * best[p] / shots[p], lost[p] / games);
+        }
+        System.out.printf("Analysis took %.2f ms per game%n", analyseNanos / 1e6 / games);
+    }
+
+    // value after a "--name value" pair in args, or null when missing
+    private static String optionValue(String[] args, String name) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(name)) return args[i + 1];
+        }
+        return null;
+    }
+
     private static void showWelcome() {
         String title = "S H I P S  H U N T E R";
         String subtitle = "Deploy Your Fleet, Sink All Ships";
@@ -101,6 +295,7 @@ public class ShipHunters {
         // so the literal strings "esc" / "exit" and whitespace only input as exit signals.
         System.out.println("\n⫘⫘⫘⫘⫘⫘⫘⫘⫘  MAIN MENU ⫘⫘⫘⫘⫘⫘⫘⫘⫘\n");
         System.out.println("Press Enter to PLAY\n");
+        System.out.println("Type FFA then Enter for FREE-FOR-ALL\n");
         System.out.println("Press whitespace then Enter to EXIT"); // or type exit or esc
         System.out.println("\n⫘⫘⫘⫘⫘⫘⫘⫘⫘⫘⫘⫘⫘⫘⫘⫘⫘⫘⫘⫘⫘⫘⫘⫘⫘⫘⫘⫘⫘\n\n");
         System.out.print("Your input: ");
@@ -109,6 +304,7 @@ public class ShipHunters {
     * - empty line -> 1 (play)
     * - whitespace-only -> 3 (exit)
     * - "esc" or "exit" -> 3 (exit)
+    * - "ffa" -> 4 (free-for-all)
     * - integer parse for numeric entries
     * - invalid parse -> -1
     */
@@ -134,6 +330,10 @@ public class ShipHunters {
                 return 3;
             }
 
+            if (trimmed.equalsIgnoreCase("ffa")) {
+                return 4;
+            }
+
             // Allow numeric entry as before (e.g., "1" to play)
             return Integer.parseInt(trimmed);
         } catch (NumberFormatException e) {
@@ -159,6 +359,42 @@ public class ShipHunters {
         game.battlePhase();
     }
 
+    // asks for the lobby size and names, then runs a free-for-all game
+    private static void playFreeForAll() {
+        clearTerminal();
+        int total = askNumber("\nNumber of players (3-" + FreeForAllEngine.MAX_PLAYERS + "): ", 3, FreeForAllEngine.MAX_PLAYERS);
+        int humans = askNumber("How many of them are human? (0-" + total + "): ", 0, total);
+
+        List<Player> players = new ArrayList<>();
+        for (int i = 1; i <= humans; i++) {
+            System.out.print("Enter the name of player " + i + ": ");
+            players.add(new Player(scn.nextLine(), false));
+        }
+        for (int i = 1; i <= total - humans; i++) {
+            players.add(new Player("AI " + i, true));
+        }
+
+        FreeForAllEngine game = new FreeForAllEngine(players);
+        game.setupPhase();
+        game.battlePhase();
+    }
+
+    // keeps asking until the user types a whole number between min and max
+    private static int askNumber(String prompt, int min, int max) {
+        while (true) {
+            System.out.print(prompt);
+            try {
+                int value = Integer.parseInt(scn.nextLine().trim());
+                if (value >= min && value <= max) {
+                    return value;
+                }
+            } catch (NumberFormatException e) {
+                // fall through to the message below
+            }
+            System.out.println("Please enter a number from " + min + " to " + max + ".");
+        }
+    }
+
     private static void showHighScores() {
         clearTerminal();
             System.out.println("\n========== HIGH SCORES ==========");
@@ -173,7 +409,7 @@ public class ShipHunters {
                 new ProcessBuilder("cmd", "/c", "cls").inheritIO().start().waitFor();
             } else {
                 // ANSI clear for Unix-like terminals
-                System.out.print("\\033[H\\033[2J");
+                System.out.print("\033[H\033[2J");
                 System.out.flush();
             }
         } catch (Exception e){
@@ -183,6 +419,21 @@ public class ShipHunters {
             }
         }
     }
+    // folder in the user's home where the game keeps files between runs (created on first save)
+    public static Path dataDir() {
+        return Paths.get(System.getProperty("user.home"), ".shiphunters");
+    }
+
+    // moves a finished temp file over file in one step where the file system allows it,
+    // so a crash never leaves half a file behind
+    public static void replaceFile(Path tmp, Path file) throws IOException {
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
     // allows other classes to reuse the single scanner.
     public static Scanner getScanner() {
         return scn;
@@ -227,28 +478,42 @@ class Board{
     private static final int size = 10;
     private static final char water = '☐';
     private static final char shipCharac = '⬤';
-    private static final char hit = '◉';
-    private static final char miss = '☒';
+    static final char hit = '◉';
+    static final char miss = '☒';
 
-    //grid stores the visible representation for each cell
-    private char[][] grid;
-    //shipPositions stores where ship pieces actually are (used for placement and hits)
-    private boolean[][] shipPositions;
+    //cells are packed into bitboards: bit (row * size + col) of a two-word long array.
+    //shipBits marks where ship pieces are, shotBits marks every cell that has been fired at.
+    //4 longs per board instead of a char[][] and a boolean[][] (two headers + 20 row arrays).
+    private static final int words = (size * size + 63) / 64;
+    private final long[] shipBits;
+    private final long[] shotBits;
 
-    // constructor initializes the grid arrays and populates with water
+    // constructor initializes the bitboards, every cell starts as water
     public Board(){
-        grid = new char[size][size];
-        shipPositions = new boolean[size][size];
-        initializeBoard();
+        shipBits = new long[words];
+        shotBits = new long[words];
     }
 
-    private void initializeBoard(){
-        for(int i=0; i<size; i++){
-            for (int a=0; a<size; a++){
-                grid[i][a] = water;
-                shipPositions[i][a] = false;
-            }
+    private static boolean isSet(long[] bits, int index){
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static void set(long[] bits, int index){
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    private static void clear(long[] bits, int index){
+        bits[index >>> 6] &= ~(1L << index);
+    }
+
+    // visible symbol for a cell, derived from the two bitboards
+    private char cellAt(int row, int col){
+        int index = row * size + col;
+        boolean ship = isSet(shipBits, index);
+        if (isSet(shotBits, index)) {
+            return ship ? hit : miss;
         }
+        return ship ? shipCharac : water;
     }
 
     public void display(boolean showShips){
@@ -280,7 +545,7 @@ class Board{
             System.out.print(PINK + rowNum + RESET + " " + BLUE + "│ " + RESET);
 
             for (int a = 0; a < size; a++) {
-                char cell = grid[i][a];
+                char cell = cellAt(i, a);
                 String out;
                 if (!showShips && cell == shipCharac) {
                     out = String.valueOf(water);
@@ -323,7 +588,7 @@ class Board{
         for (int i = 0; i < length; i++) {
             int checkRow = horizontal ? row : row + i;
             int checkCol = horizontal ? col + i : col;
-            if (shipPositions[checkRow][checkCol]) {
+            if (isSet(shipBits, checkRow * size + checkCol)) {
                 return false;
             }
         }
@@ -331,8 +596,8 @@ class Board{
         for (int i = 0; i < length; i++) {
             int placeRow = horizontal ? row : row + i;
             int placeCol = horizontal ? col + i : col;
-            grid[placeRow][placeCol] = shipCharac;
-            shipPositions[placeRow][placeCol] = true;
+            set(shipBits, placeRow * size + placeCol);
+            clear(shotBits, placeRow * size + placeCol); // a ship placed over an old miss starts unshot
             ship.addPosition(placeRow, placeCol);
         }
 
@@ -346,25 +611,31 @@ class Board{
         int row = coords[0];
         int col = coords[1];
 
-        if (grid[row][col] == hit || grid[row][col] == miss) {
+        int index = row * size + col;
+        if (isSet(shotBits, index)) {
             return "ALREADY_SHOT";
         }
 
-        if (shipPositions[row][col]) {
-            grid[row][col] = hit;
-            return "HIT";
-        } else {
-            grid[row][col] = miss;
-            return "MISS";
-        }
+        set(shotBits, index);
+        return isSet(shipBits, index) ? "HIT" : "MISS";
+    }
+
+    // true if the cell at row/col (0-indexed) has already been fired at
+    public boolean isShot(int row, int col) {
+        return isSet(shotBits, row * size + col);
+    }
+
+    // true if the cell was fired at and held a ship
+    public boolean isHit(int row, int col) {
+        int index = row * size + col;
+        return isSet(shotBits, index) && isSet(shipBits, index);
     }
 
     public boolean allShipsSunk() {
-        for (int i = 0; i < size; i++) {
-            for (int a = 0; a < size; a++) {
-                if (grid[i][a] == shipCharac) {
-                    return false;
-                }
+        // a ship cell that has not been shot yet means the fleet is still afloat
+        for (int w = 0; w < words; w++) {
+            if ((shipBits[w] & ~shotBits[w]) != 0) {
+                return false;
             }
         }
         return true;
@@ -400,6 +671,16 @@ class Board{
     public static int getSize() {
         return size;
     }
+
+    // maps a cell through one of the 8 rotations/reflections of the square board (symmetry 0..7)
+    public static int[] transform(int symmetry, int row, int col) {
+        int last = size - 1;
+        int r = row, c = col;
+        if ((symmetry & 1) != 0) r = last - r;           // flip vertically
+        if ((symmetry & 2) != 0) c = last - c;           // flip horizontally
+        if ((symmetry & 4) != 0) { int t = r; r = c; c = t; } // mirror on the diagonal
+        return new int[]{r, c};
+    }
 }
 
 /**
@@ -408,18 +689,32 @@ class Board{
 class Ship {
     private String name;
     private int length;
-    private List<int[]> positions;
+    private byte[] cells;  // occupied cells as row * size + col, in placement order
+    private int placed;    // how many entries of cells are in use
     private int hits;
 
     public Ship(String name, int length) {
         this.name = name;
         this.length = length;
-        this.positions = new ArrayList<>();
+        this.cells = new byte[length];
+        this.placed = 0;
         this.hits = 0;
     }
 
     public void addPosition(int row, int col) {
-        positions.add(new int[]{row, col});
+        if (placed == cells.length) {
+            cells = Arrays.copyOf(cells, placed + 1);
+        }
+        cells[placed++] = (byte) (row * Board.getSize() + col);
+    }
+
+    // true if one of the ship's pieces is on row/col, without building the positions list
+    public boolean occupies(int row, int col) {
+        int cell = row * Board.getSize() + col;
+        for (int i = 0; i < placed; i++) {
+            if (cells[i] == cell) return true;
+        }
+        return false;
     }
 
     public void hit() {
@@ -438,7 +733,12 @@ class Ship {
         return length;
     }
 
+    // a new list of {row, col} pairs each call, changing it doesn't move the ship
     public List<int[]> getPositions() {
+        List<int[]> positions = new ArrayList<>(placed);
+        for (int i = 0; i < placed; i++) {
+            positions.add(new int[]{cells[i] / Board.getSize(), cells[i] % Board.getSize()});
+        }
         return positions;
     }
 
@@ -468,11 +768,21 @@ class Player {
         initializeShips();
     }
 
+    // the fleet every player gets, in placement order
+    static final String[] FLEET_NAMES = {"Carrier", "Battleship", "Destroyer"};
+    static final int[] FLEET_LENGTHS = {5, 4, 3};
+
     private void initializeShips() {
         ships.clear();
-        ships.add(new Ship("Carrier", 5));     // length 5
-        ships.add(new Ship("Battleship", 4));  // length 4
-        ships.add(new Ship("Destroyer", 3));     // length 3
+        for (int i = 0; i < FLEET_NAMES.length; i++) {
+            ships.add(new Ship(FLEET_NAMES[i], FLEET_LENGTHS[i]));
+        }
+    }
+
+    // clears the board and fleet so ships can be placed again
+    public void resetFleet() {
+        board = new Board();
+        initializeShips();
     }
 
     public String getName() {
@@ -523,217 +833,2608 @@ class Player {
 }
 
 /**
- * AI class implementing smart opponent behavior
- * Uses hunt and target mode for strategic ship hunting
+ * PlacementModel class learning where human players tend to place their ships
+ * Keeps a decaying per-cell count that is saved between runs
  */
-class AI {
-    private Random random;
-    private List<String> availableTargets;
-    private List<String> targetQueue;
-    private boolean huntMode;
-    private String lastHit;
-
-    public AI() {
-        random = new Random();
-        availableTargets = new ArrayList<>();
-        targetQueue = new ArrayList<>();
-        huntMode = true;
-        initializeTargets();
+class PlacementModel {
+    private static final int size = Board.getSize();
+    private static final double DECAY = 0.95;        // share of old data kept each time a game is recorded
+    private static final double PRIOR_STRENGTH = 4.0; // how much a always-occupied cell outweighs an empty one
+
+    private final Path file;
+    private final double[] counts; // decayed number of games with a ship on each cell
+    private double games;          // decayed number of recorded games
+
+    private PlacementModel(Path file) {
+        this.file = file;
+        this.counts = new double[size * size];
+        this.games = 0;
     }
 
-    private void initializeTargets() {
-        for (char col = 'A'; col <= 'J'; col++) {
-            for (int row = 1; row <= 10; row++) {
-                availableTargets.add(col + "" + row);
-            }
-        }
+    public static Path defaultFile() {
+        return ShipHunters.dataDir().resolve("placements.dat");
     }
 
-    public void placeShips(Player aiPlayer) {
-        for (Ship ship : aiPlayer.getShips()) {
-            boolean placed = false;
-            while (!placed) {
-                int row = random.nextInt(10);
-                char col = (char) ('A' + random.nextInt(10));
-                boolean horizontal = random.nextBoolean();
-                String coord = col + "" + (row + 1);
-                placed = aiPlayer.getBoard().placeShip(ship, coord, horizontal);
+    // reads the saved model, or starts an empty one if the file is missing or unreadable
+    public static PlacementModel load(Path file) {
+        PlacementModel model = new PlacementModel(file);
+        if (!Files.isRegularFile(file)) return model;
+
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            double games = in.readDouble();
+            double[] counts = new double[size * size];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = in.readDouble();
             }
+            model.games = games;
+            System.arraycopy(counts, 0, model.counts, 0, counts.length);
+        } catch (IOException e) {
+            // corrupt or old file: ignore it and learn from scratch
         }
+        return model;
     }
 
-    public String makeMove() {
-        String target;
+    // adds one finished game's fleet, fading older games so recent habits count more
+    public void record(List<Ship> ships) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] *= DECAY;
+        }
+        games = games * DECAY + 1;
 
-        if (!targetQueue.isEmpty()) {
-            // Target mode - follow up on hits
-            target = targetQueue.remove(0);
-        } else {
-            // Hunt mode - random selection with checkerboard pattern
-            if (availableTargets.isEmpty()) {
-                return null;
+        for (Ship ship : ships) {
+            for (int[] pos : ship.getPositions()) {
+                counts[pos[0] * size + pos[1]] += 1;
             }
-            int index = random.nextInt(availableTargets.size());
-            target = availableTargets.get(index);
         }
-
-        availableTargets.remove(target);
-        return target;
     }
 
-    public void processResult(String target, String result) {
-        if (result.equals("HIT")) {
-            lastHit = target;
-            huntMode = false;
-            addAdjacentTargets(target);
-        } else if (result.equals("MISS")) {
-            if (targetQueue.isEmpty()) {
-                huntMode = true;
+    // writes to a temp file and moves it over the old one, so a crash never leaves half a file
+    public void save() {
+        if (file == null) return; // in-memory model
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = Files.createTempFile(file.getParent(), "placements", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(tmp))) {
+                out.writeDouble(games);
+                for (double count : counts) {
+                    out.writeDouble(count);
+                }
             }
+            ShipHunters.replaceFile(tmp, file);
+        } catch (IOException e) {
+            // ignore if it fails — the game still works, it just learns nothing this time
         }
     }
 
-    private void addAdjacentTargets(String coord) {
-        int[] parsed = parseCoordinate(coord);
-        if (parsed == null) return;
+    // a model that lives only in memory and is never saved, for the verifier
+    static PlacementModel inMemory() {
+        return new PlacementModel(null);
+    }
 
-        int row = parsed[0]; // 0-indexed (0-9)
-        int col = parsed[1]; // 0-indexed (0-9)
+    // true once at least one human fleet has been recorded
+    public boolean hasData() {
+        return games > 0;
+    }
 
-        // Add adjacent cells (up, down, left, right)
-        // addTargetIfValid expects 1-indexed row (1-10)
-        addTargetIfValid((char) ('A' + col), row); // up: row-1 in 0-indexed = row in 1-indexed
-        addTargetIfValid((char) ('A' + col), row + 2); // down: row+1 in 0-indexed = row+2 in 1-indexed
-        addTargetIfValid((char) ('A' + col - 1), row + 1); // left
-        addTargetIfValid((char) ('A' + col + 1), row + 1); // right
+    // relative hunt weight for a cell: 1 for a cell never used, up to 1 + PRIOR_STRENGTH for one always used
+    public double weight(int row, int col) {
+        if (games <= 0) return 1.0;
+        return 1.0 + PRIOR_STRENGTH * counts[row * size + col] / games;
     }
+}
 
-    private void addTargetIfValid(char col, int row) {
-        if (col >= 'A' && col <= 'J' && row >= 1 && row <= 10) {
-            String target = col + "" + row;
-            if (availableTargets.contains(target) && !targetQueue.contains(target)) {
-                targetQueue.add(target);
-            }
+/**
+ * GameSimulator class playing games without the console
+ * Used by the offline tools to measure how the AI performs
+ */
+class GameSimulator {
+    private static List<String> book; // the opening book simulated AIs use, computed in memory
+
+    // simulations never read ~/.shiphunters: the book is recomputed from the board and fleet,
+    // and ships are placed at random rather than from the layout table, so a seed means the
+    // same game on every machine
+    public static synchronized List<String> book() {
+        if (book == null) {
+            book = OpeningBook.compute();
         }
+        return book;
     }
 
-    private int[] parseCoordinate(String coord) {
-        if (coord == null || coord.length() < 2) return null;
+    // names everything besides the seed that a simulated game depends on
+    public static String setup() {
+        return "book " + OpeningBook.fingerprint(book()) + " " + String.join(" ", book()) + ", layouts random";
+    }
 
-        char colChar = coord.charAt(0);
-        try {
-            int row = Integer.parseInt(coord.substring(1)) - 1;
-            int col = colChar - 'A';
-            return new int[]{row, col};
-        } catch (NumberFormatException e) {
-            return null;
+    // lets hunter fire at board until every ship is sunk, returns the number of shots it needed
+    public static int huntShots(Board board, AI hunter) {
+        int shots = 0;
+        while (!board.allShipsSunk()) {
+            String target = hunter.makeMove();
+            if (target == null) break;
+            String result = board.shoot(target);
+            hunter.processResult(target, result);
+            shots++;
         }
+        return shots;
     }
 
-    public List<String> getAvailableTargets() {
-        return availableTargets;
+    // plays one silent AI-vs-AI game; the seed decides placements and every shot (see book())
+    public static GameResult play(long seed, boolean recordShots) {
+        return play(seed, recordShots, new Player[]{new Player("AI 1", true), new Player("AI 2", true)});
     }
 
-    public void setAvailableTargets(List<String> targets) {
-        this.availableTargets = targets;
-    }
+    // same, on two fresh players supplied by the caller so it can look at the fleets afterwards
+    public static GameResult play(long seed, boolean recordShots, Player[] players) {
+        Random random = new Random(seed);
+        AI[] ais = {new AI(null, new Random(random.nextLong()), book()), new AI(null, new Random(random.nextLong()), book())};
+        ais[0].placeRandomly(players[0]);
+        ais[1].placeRandomly(players[1]);
+
+        int size = Board.getSize();
+        int[] shots = recordShots ? new int[2 * size * size] : null;
+        int shotCount = 0;
+        int turn = 0;
+        int current = 0;
+        int winner = 0;
+
+        while (winner == 0) {
+            turn++;
+            Player shooter = players[current];
+            Player opponent = players[1 - current];
+            String target = ais[current].makeMove();
+            if (target == null) break;
 
-    public List<String> getTargetQueue() {
-        return targetQueue;
-    }
+            String result = opponent.getBoard().shoot(target);
+            shooter.incrementShotsFired();
+            int sunk = 0;
+            if (result.equals("HIT")) {
+                shooter.incrementShotsHit();
+                Ship ship = GameEngine.registerHit(opponent, target);
+                if (ship != null && ship.isSunk()) {
+                    sunk = opponent.getShips().indexOf(ship) + 1;
+                }
+            }
+            ais[current].processResult(target, result);
 
-    public void setTargetQueue(List<String> queue) {
-        this.targetQueue = queue;
+            if (recordShots) {
+                int[] cell = opponent.getBoard().parseCoordinate(target);
+                shots[shotCount++] = GameResult.packShot(turn, current, cell[0] * size + cell[1], result.equals("HIT"), sunk);
+            }
+            if (opponent.allShipsSunk()) {
+                winner = current + 1;
+            }
+            current = 1 - current;
+        }
+
+        return new GameResult(seed, winner, turn,
+                new int[]{players[0].getShotsFired(), players[1].getShotsFired()},
+                new int[]{players[0].getShotsHit(), players[1].getShotsHit()},
+                recordShots ? Arrays.copyOf(shots, shotCount) : null);
     }
 }
 
 /**
- * GameEngine class managing game flow and logic
+ * GameResult class holding the outcome of one simulated game
+ * Optional shot list is packed one int per shot to keep it small
  */
-class GameEngine {
-    private Player player1;
-    private Player player2;
-    private AI aiOpponent;
-    private Scanner scanner;
-    private int turnCount;
+class GameResult {
+    final long seed;
+    final int winner;       // 1 or 2, 0 if nobody won
+    final int turns;
+    final int[] shotsFired; // per player
+    final int[] shotsHit;   // per player
+    final int[] shots;      // packed shots in order, null when not recorded
+
+    GameResult(long seed, int winner, int turns, int[] shotsFired, int[] shotsHit, int[] shots) {
+        this.seed = seed;
+        this.winner = winner;
+        this.turns = turns;
+        this.shotsFired = shotsFired;
+        this.shotsHit = shotsHit;
+        this.shots = shots;
+    }
 
-    public GameEngine(Player player1, Player player2) {
-        this.player1 = player1;
-        this.player2 = player2;
-        this.scanner = ShipHunters.getScanner();
-        this.turnCount = 0;
-        if (player2.isAI()) {
-            aiOpponent = new AI();
-        }
+    // bits: turn (16) | shooter (1) | cell (7) | hit (1) | sunk ship number, 0 for none (3)
+    static int packShot(int turn, int shooter, int cell, boolean hit, int sunk) {
+        return turn << 12 | shooter << 11 | cell << 4 | (hit ? 1 : 0) << 3 | sunk;
     }
 
-    public void setupPhase() {
-        ShipHunters.clearTerminal();
-        System.out.println("\n⫘⫘⫘⫘⫘⫘⫘⫘⫘ SETUP PHASE ⫘⫘⫘⫘⫘⫘⫘⫘⫘");
+    static int shotTurn(int shot)    { return shot >>> 12; }
+    static int shotShooter(int shot) { return shot >>> 11 & 1; }
+    static int shotCell(int shot)    { return shot >>> 4 & 0x7F; }
+    static boolean shotHit(int shot) { return (shot >>> 3 & 1) != 0; }
+    static int shotSunk(int shot)    { return shot & 7; }
+}
 
-        // Player 1 setup
-        System.out.println("\n" + player1.getName() + ", deploy your fleet!");
-        setupPlayerShips(player1);
+/**
+ * SimulationStats class totalling many simulated games
+ */
+class SimulationStats {
+    private long games;
+    private final long[] wins = new long[2];
+    private long totalTurns;
+    private int minTurns = Integer.MAX_VALUE;
+    private int maxTurns;
+
+    public void add(GameResult result) {
+        games++;
+        if (result.winner > 0) wins[result.winner - 1]++;
+        totalTurns += result.turns;
+        minTurns = Math.min(minTurns, result.turns);
+        maxTurns = Math.max(maxTurns, result.turns);
+    }
 
-        // Player 2 setup (AI placement is silent)
-        if (player2.isAI()) {
-            aiOpponent.placeShips(player2);
-        } else {
-            System.out.println("\n" + player2.getName() + ", place your ships!");
-            setupPlayerShips(player2);
-        }
+    // adds another batch's totals, e.g. one worker's seed range
+    public void merge(SimulationStats other) {
+        games += other.games;
+        wins[0] += other.wins[0];
+        wins[1] += other.wins[1];
+        totalTurns += other.totalTurns;
+        minTurns = Math.min(minTurns, other.minTurns);
+        maxTurns = Math.max(maxTurns, other.maxTurns);
+    }
 
-        System.out.println("\nAll ships placed!");
-        System.out.println("Press Enter to continue...");
-        scanner.nextLine();
+    // one line of numbers, the form workers send their totals back in
+    public String toLine() {
+        return games + " " + wins[0] + " " + wins[1] + " " + totalTurns + " " + minTurns + " " + maxTurns;
     }
 
+    public static SimulationStats fromLine(String line) {
+        String[] parts = line.trim().split(" ");
+        if (parts.length != 6) throw new IllegalArgumentException("Bad stats line: " + line);
+        SimulationStats stats = new SimulationStats();
+        stats.games = Long.parseLong(parts[0]);
+        stats.wins[0] = Long.parseLong(parts[1]);
+        stats.wins[1] = Long.parseLong(parts[2]);
+        stats.totalTurns = Long.parseLong(parts[3]);
+        stats.minTurns = Integer.parseInt(parts[4]);
+        stats.maxTurns = Integer.parseInt(parts[5]);
+        return stats;
+    }
 
-    private void setupPlayerShips(Player player) {
-        for (Ship ship : player.getShips()) {
-            boolean placed = false;
-            while (!placed) {
-                ShipHunters.clearTerminal();
-                player.getBoard().display(true);
+    public void print() {
+        System.out.println("Games: " + games);
+        if (games == 0) return;
+        System.out.printf("AI 1 wins: %d (%.2f%%)  AI 2 wins: %d (%.2f%%)%n",
+                wins[0], 100.0 * wins[0] / games, wins[1], 100.0 * wins[1] / games);
+        System.out.printf("Turns: average %.2f, min %d, max %d%n", (double) totalTurns / games, minTurns, maxTurns);
+    }
+}
 
-                System.out.println("\nPlace your " + ship.getName() + " (Length: " + ship.getLength() + ")");
-                System.out.print("\nEnter your starting coordinate (A1): ");
-                String coord = scanner.nextLine().toUpperCase();
+/**
+ * SimulationCoordinator class running simulations across several worker processes
+ * Each worker is this program started with --worker and talks over its stdin/stdout:
+ *   coordinator -> worker: "RANGE <first seed> <games>" or "QUIT"
+ *   worker -> coordinator: "RESULT <first seed> <stats line>"
+ * A range whose worker dies goes back in the queue for another worker
+ */
+class SimulationCoordinator {
+    private static final long RANGE_GAMES = 20000; // most games in one range handed to a worker
+    private static final int MAX_RESTARTS = 3;     // replacement processes per worker slot
 
-                System.out.print("Horizontal or Vertical? (H/V): ");
-                String direction = scanner.nextLine().toUpperCase();
-                boolean horizontal = direction.equals("H");
+    private final int workers;
+    private final BlockingQueue<long[]> ranges = new LinkedBlockingQueue<>(); // {first seed, games}
+    private final AtomicInteger rangesLeft = new AtomicInteger();
+    private final SimulationStats total = new SimulationStats();
 
-                placed = player.getBoard().placeShip(ship, coord, horizontal);
+    public SimulationCoordinator(int workers) {
+        this.workers = Math.max(1, workers);
+    }
 
-                if (!placed) {
-                    System.out.println("\nInvalid placement! Try again.");
-                    System.out.println("Press Enter to continue...");
-                    scanner.nextLine();
-                }
+    // workers run "java -cp <class path> ShipHunters", which only works when the classes were
+    // compiled with javac; the source launcher ("java ShipHunters.java") keeps them in memory
+    public static boolean canStartWorkers() {
+        return ShipHunters.class.getClassLoader() == ClassLoader.getSystemClassLoader();
+    }
+
+    public SimulationStats run(long seed, long games) {
+        // at least one range per worker, so small runs are shared out too
+        long rangeGames = Math.max(1, Math.min(RANGE_GAMES, (games + workers - 1) / workers));
+        for (long first = seed; first < seed + games; first += rangeGames) {
+            ranges.add(new long[]{first, Math.min(rangeGames, seed + games - first)});
+        }
+        rangesLeft.set(ranges.size());
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            final int slot = i;
+            Thread thread = new Thread(() -> driveWorker(slot), "worker-" + i);
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             }
         }
 
-        // Show player's final board and pause briefly (no Enter required)
-        ShipHunters.clearTerminal();
-        System.out.println("\n" + player.getName() + "'s final board:");
-        player.getBoard().display(true);
-
-        // brief pause so user can see the final board before continuing
-        try {
-            Thread.sleep(2500); // 1000 ms = 1 second
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        if (rangesLeft.get() > 0) {
+            System.out.println("Warning: " + rangesLeft.get() + " seed ranges could not be finished, all workers failed.");
         }
+        return total;
     }
 
+    // feeds ranges to one worker process, starting a replacement if it dies
+    private void driveWorker(int slot) {
+        int restarts = 0;
+        while (rangesLeft.get() > 0) {
+            Process process;
+            try {
+                process = startWorker();
+            } catch (IOException e) {
+                System.out.println("Could not start worker " + slot + ": " + e.getMessage());
+                return;
+            }
 
-    public void battlePhase() {
-        ShipHunters.clearTerminal();
-        System.out.println("\n========== BATTLE PHASE ==========");
+            boolean died = feed(process, slot);
+            process.destroy();
+            if (!died) return;
+            if (++restarts > MAX_RESTARTS) {
+                System.out.println("Worker " + slot + " keeps failing, giving up on it.");
+                return;
+            }
+        }
+    }
 
-        Player currentPlayer = player1;
-        Player opponent = player2;
+    // returns true if the worker died while it still had work to do
+    private boolean feed(Process process, int slot) {
+        PrintStream toWorker = new PrintStream(process.getOutputStream(), true);
+        BufferedReader fromWorker = new BufferedReader(new InputStreamReader(process.getInputStream()));
+
+        while (rangesLeft.get() > 0) {
+            long[] range;
+            try {
+                range = ranges.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            if (range == null) continue; // others are still working, wait in case one of them dies
+
+            try {
+                toWorker.println("RANGE " + range[0] + " " + range[1]);
+                String reply = fromWorker.readLine();
+                String prefix = "RESULT " + range[0] + " ";
+                if (reply == null || !reply.startsWith(prefix)) {
+                    throw new IOException("no result from worker");
+                }
+                SimulationStats stats = SimulationStats.fromLine(reply.substring(prefix.length()));
+                synchronized (total) {
+                    total.merge(stats);
+                }
+                rangesLeft.decrementAndGet();
+            } catch (IOException | IllegalArgumentException e) {
+                System.out.println("Worker " + slot + " failed on seeds from " + range[0] + ", reassigning them.");
+                ranges.add(range);
+                return true;
+            }
+        }
+
+        toWorker.println("QUIT");
+        return false;
+    }
+
+    private static Process startWorker() throws IOException {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        return new ProcessBuilder(java,
+                "-Duser.home=" + System.getProperty("user.home"), // same data directory as the coordinator
+                "-cp", System.getProperty("java.class.path"),
+                "ShipHunters", "--worker")
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+    }
+
+    // the worker side: play each range it is sent and reply with the totals
+    public static void workerLoop() {
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(System.in))) {
+            String line;
+            while ((line = in.readLine()) != null && line.startsWith("RANGE ")) {
+                String[] parts = line.split(" ");
+                long first = Long.parseLong(parts[1]);
+                long games = Long.parseLong(parts[2]);
+
+                SimulationStats stats = new SimulationStats();
+                for (long g = 0; g < games; g++) {
+                    stats.add(GameSimulator.play(first + g, false));
+                }
+                System.out.println("RESULT " + first + " " + stats.toLine());
+                System.out.flush();
+            }
+        } catch (IOException e) {
+            // coordinator went away, nothing left to do
+        }
+    }
+}
+
+/**
+ * DifferentialVerifier class checking optimised game classes against plain reference behaviour
+ * Board runs side by side with ReferenceBoard (the original char-grid board) over random seeded
+ * placements and shots, including invalid coordinates; the first divergence is shrunk and printed.
+ * AI runs the same way next to ReferenceAI (the original list-based AI) on scripted shot results.
+ * Another implementation can be checked by adding a BoardUnderTest or AIUnderTest adapter for it.
+ */
+class DifferentialVerifier {
+    private static final int OPS_PER_CASE = 60;
+    private static final int AI_OPS_PER_CASE = 130; // enough to run a hunt out of cells
+    private static final String[] MODELS = {"none", "empty", "trained"};
+    private static PlacementModel trainedModel; // shared, only read once built
+
+    // the board operations the game relies on
+    interface BoardUnderTest {
+        boolean placeShip(int length, String coord, boolean horizontal);
+        String shoot(String coord);
+        boolean allShipsSunk();
+    }
+
+    // one step of a case: a placement when length > 0, otherwise a shot
+    private static class Op {
+        final int length;
+        final String coord;
+        final boolean horizontal;
+
+        Op(int length, String coord, boolean horizontal) {
+            this.length = length;
+            this.coord = coord;
+            this.horizontal = horizontal;
+        }
+
+        @Override
+        public String toString() {
+            return length > 0 ? "placeShip(" + length + ", " + quote(coord) + ", " + (horizontal ? "H" : "V") + ")"
+                              : "shoot(" + quote(coord) + ")";
+        }
+
+        private static String quote(String s) {
+            return s == null ? "null" : "\"" + s + "\"";
+        }
+    }
+
+    // the board the game uses
+    private static BoardUnderTest current() {
+        Board board = new Board();
+        return new BoardUnderTest() {
+            public boolean placeShip(int length, String coord, boolean horizontal) {
+                return board.placeShip(new Ship("Test", length), coord, horizontal);
+            }
+            public String shoot(String coord) { return board.shoot(coord); }
+            public boolean allShipsSunk() { return board.allShipsSunk(); }
+        };
+    }
+
+    public static boolean verifyBoards(long seed, long cases) {
+        // ordered parallel search, so the reported case is always the lowest failing seed
+        OptionalLong failing = LongStream.range(seed, seed + cases).parallel()
+                .filter(caseSeed -> divergence(generate(caseSeed)) >= 0)
+                .findFirst();
+        if (!failing.isPresent()) {
+            System.out.println("Board: " + cases + " cases match the reference.");
+            return true;
+        }
+
+        List<Op> ops = shrink(generate(failing.getAsLong()));
+        int step = divergence(ops);
+        System.out.println("Board diverges from the reference, seed " + failing.getAsLong() + ". Minimal reproduction:");
+        for (int i = 0; i < ops.size(); i++) {
+            System.out.println("  " + (i + 1) + ". " + ops.get(i) + (i == step ? "   <-- " + describe(ops, step) : ""));
+        }
+        return false;
+    }
+
+    // random mix of placements and shots; coordinates are mostly valid, sometimes malformed
+    private static List<Op> generate(long caseSeed) {
+        Random random = new Random(caseSeed);
+        List<Op> ops = new ArrayList<>();
+        for (int i = 0; i < OPS_PER_CASE; i++) {
+            boolean place = i < 8 ? random.nextInt(3) != 0 : random.nextInt(10) == 0;
+            int length = place ? 1 + random.nextInt(Board.getSize()) : 0;
+            ops.add(new Op(length, randomCoord(random), random.nextBoolean()));
+        }
+        return ops;
+    }
+
+    private static String randomCoord(Random random) {
+        switch (random.nextInt(12)) {
+            case 0: return null;
+            case 1: return "";
+            case 2: return (char) ('A' + random.nextInt(26)) + "" + random.nextInt(13);          // off the board
+            case 3: return (char) ('a' + random.nextInt(10)) + "" + (1 + random.nextInt(10));    // lower case
+            case 4: return (char) ('A' + random.nextInt(10)) + "" + (1 + random.nextInt(10)) + "X";
+            case 5: return "A";
+            default: return (char) ('A' + random.nextInt(10)) + "" + (1 + random.nextInt(10));
+        }
+    }
+
+    // index of the first op where the boards disagree, -1 if they never do
+    private static int divergence(List<Op> ops) {
+        BoardUnderTest actual = current();
+        BoardUnderTest expected = new ReferenceBoard();
+        for (int i = 0; i < ops.size(); i++) {
+            if (!Objects.equals(apply(actual, ops.get(i)), apply(expected, ops.get(i)))
+                    || actual.allShipsSunk() != expected.allShipsSunk()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Object apply(BoardUnderTest board, Op op) {
+        return op.length > 0 ? (Object) board.placeShip(op.length, op.coord, op.horizontal) : board.shoot(op.coord);
+    }
+
+    private static String describe(List<Op> ops, int step) {
+        BoardUnderTest actual = current();
+        BoardUnderTest expected = new ReferenceBoard();
+        for (int i = 0; i < step; i++) {
+            apply(actual, ops.get(i));
+            apply(expected, ops.get(i));
+        }
+        return "Board " + apply(actual, ops.get(step)) + " / sunk " + actual.allShipsSunk()
+                + ", reference " + apply(expected, ops.get(step)) + " / sunk " + expected.allShipsSunk();
+    }
+
+    // drops ops after the divergence, then every op that isn't needed to reproduce it
+    private static List<Op> shrink(List<Op> ops) {
+        List<Op> result = new ArrayList<>(ops.subList(0, divergence(ops) + 1));
+        for (int i = result.size() - 1; i >= 0; i--) {
+            List<Op> without = new ArrayList<>(result);
+            without.remove(i);
+            int step = divergence(without);
+            if (step >= 0) {
+                result = new ArrayList<>(without.subList(0, step + 1));
+                i = Math.min(i, result.size());
+            }
+        }
+        return result;
+    }
+
+    // the AI operations the game relies on
+    interface AIUnderTest {
+        String makeMove();
+        void processResult(String target, String result);
+        void observe(String target, String result);
+    }
+
+    // one step of an AI case: makeMove answered with result, or (when observed is set)
+    // someone else's shot at the tracked board
+    private static class AiOp {
+        final String observed;
+        final String result;
+
+        AiOp(String observed, String result) {
+            this.observed = observed;
+            this.result = result;
+        }
+
+        @Override
+        public String toString() {
+            return observed == null ? "makeMove(), answered " + result : "observe(\"" + observed + "\", " + result + ")";
+        }
+    }
+
+    // a whole AI case: both AIs are built from the seed and model, then fed the ops
+    private static class AiCase {
+        final long aiSeed;
+        final int model;
+        final List<AiOp> ops;
+
+        AiCase(long aiSeed, int model, List<AiOp> ops) {
+            this.aiSeed = aiSeed;
+            this.model = model;
+            this.ops = ops;
+        }
+
+        AiCase with(List<AiOp> ops) {
+            return new AiCase(aiSeed, model, ops);
+        }
+    }
+
+    // the AI the game uses, on the simulator's in-memory book so the check is the same on every machine
+    private static AIUnderTest currentAI(AiCase c) {
+        AI ai = new AI(model(c.model), new Random(c.aiSeed), GameSimulator.book());
+        return new AIUnderTest() {
+            public String makeMove() { return ai.makeMove(); }
+            public void processResult(String target, String result) { ai.processResult(target, result); }
+            public void observe(String target, String result) { ai.observe(target, result); }
+        };
+    }
+
+    private static AIUnderTest referenceAI(AiCase c) {
+        return new ReferenceAI(model(c.model), new Random(c.aiSeed), GameSimulator.book());
+    }
+
+    // no model, a model with no games yet (uniform weights), or one trained on seeded fleets
+    private static PlacementModel model(int variant) {
+        if (variant == 0) return null;
+        if (variant == 1) return PlacementModel.inMemory();
+        synchronized (DifferentialVerifier.class) {
+            if (trainedModel == null) {
+                PlacementModel model = PlacementModel.inMemory();
+                Random random = new Random(1);
+                for (int g = 0; g < 20; g++) {
+                    Player player = new Player("Fleet", true);
+                    new AI(null, random, null).placeRandomly(player);
+                    model.record(player.getShips());
+                }
+                trainedModel = model;
+            }
+            return trainedModel;
+        }
+    }
+
+    public static boolean verifyAI(long seed, long cases) {
+        OptionalLong failing = LongStream.range(seed, seed + cases).parallel()
+                .filter(caseSeed -> aiDivergence(generateAI(caseSeed)) >= 0)
+                .findFirst();
+        if (!failing.isPresent()) {
+            System.out.println("AI: " + cases + " cases match the reference.");
+            return true;
+        }
+
+        AiCase c = shrinkAI(generateAI(failing.getAsLong()));
+        int step = aiDivergence(c);
+        System.out.println("AI diverges from the reference, seed " + failing.getAsLong()
+                + " (AI seed " + c.aiSeed + ", model " + MODELS[c.model] + "). Minimal reproduction:");
+        AIUnderTest actual = currentAI(c);
+        for (int i = 0; i < c.ops.size(); i++) {
+            AiOp op = c.ops.get(i);
+            String move = i < step ? runAI(actual, op) : null;
+            System.out.println("  " + (i + 1) + ". " + op + (move != null ? "   (fired at " + move + ")" : "")
+                    + (i == step ? "   <-- " + describeAI(c, step) : ""));
+        }
+        return false;
+    }
+
+    // moves are answered mostly HIT or MISS, now and then with results the AI should shrug off
+    private static AiCase generateAI(long caseSeed) {
+        Random random = new Random(caseSeed);
+        int model = random.nextInt(MODELS.length);
+        long aiSeed = random.nextLong();
+        List<AiOp> ops = new ArrayList<>();
+        int size = Board.getSize();
+        for (int i = 0; i < AI_OPS_PER_CASE; i++) {
+            if (random.nextInt(8) == 0) {
+                String cell = (char) ('A' + random.nextInt(size)) + "" + (1 + random.nextInt(size));
+                ops.add(new AiOp(cell, random.nextInt(3) == 0 ? "HIT" : "MISS"));
+            } else {
+                int r = random.nextInt(20);
+                ops.add(new AiOp(null, r == 0 ? "ALREADY_SHOT" : r == 1 ? "INVALID" : r < 7 ? "HIT" : "MISS"));
+            }
+        }
+        return new AiCase(aiSeed, model, ops);
+    }
+
+    // index of the first op where the AIs disagree or the AI breaks a rule, -1 if neither happens
+    private static int aiDivergence(AiCase c) {
+        AIUnderTest actual = currentAI(c);
+        AIUnderTest expected = referenceAI(c);
+        Set<String> known = new HashSet<>();
+        for (int i = 0; i < c.ops.size(); i++) {
+            if (stepProblem(actual, expected, c.ops.get(i), known) != null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String describeAI(AiCase c, int step) {
+        AIUnderTest actual = currentAI(c);
+        AIUnderTest expected = referenceAI(c);
+        Set<String> known = new HashSet<>();
+        for (int i = 0; i < step; i++) {
+            stepProblem(actual, expected, c.ops.get(i), known);
+        }
+        return stepProblem(actual, expected, c.ops.get(step), known);
+    }
+
+    // runs one op on both AIs; every move must match the reference and land on a cell not known yet
+    private static String stepProblem(AIUnderTest actual, AIUnderTest expected, AiOp op, Set<String> known) {
+        if (op.observed != null) {
+            actual.observe(op.observed, op.result);
+            expected.observe(op.observed, op.result);
+            known.add(op.observed);
+            return null;
+        }
+
+        String a = actual.makeMove();
+        String b = expected.makeMove();
+        if (!Objects.equals(a, b)) return "AI fired at " + a + ", reference at " + b;
+        int cells = Board.getSize() * Board.getSize();
+        if (a == null) return known.size() < cells ? "no move with " + (cells - known.size()) + " cells left" : null;
+        if (!a.matches("[A-J]([1-9]|10)")) return "AI fired at " + a + ", which is not a cell";
+        if (!known.add(a)) return "AI fired at " + a + " again";
+
+        actual.processResult(a, op.result);
+        expected.processResult(b, op.result);
+        return null;
+    }
+
+    // the cell the AI fired at for a makeMove op, null for observe
+    private static String runAI(AIUnderTest ai, AiOp op) {
+        if (op.observed != null) {
+            ai.observe(op.observed, op.result);
+            return null;
+        }
+        String move = ai.makeMove();
+        if (move != null) ai.processResult(move, op.result);
+        return move;
+    }
+
+    // drops ops after the divergence and every op that isn't needed to reproduce it,
+    // then turns answers into plain misses wherever it still diverges
+    private static AiCase shrinkAI(AiCase c) {
+        AiCase result = c.with(new ArrayList<>(c.ops.subList(0, aiDivergence(c) + 1)));
+        for (int i = result.ops.size() - 1; i >= 0; i--) {
+            List<AiOp> without = new ArrayList<>(result.ops);
+            without.remove(i);
+            int step = aiDivergence(result.with(without));
+            if (step >= 0) {
+                result = result.with(new ArrayList<>(without.subList(0, step + 1)));
+                i = Math.min(i, result.ops.size());
+            }
+        }
+        for (int i = 0; i < result.ops.size(); i++) {
+            AiOp op = result.ops.get(i);
+            if (op.result.equals("MISS")) continue;
+            List<AiOp> plainer = new ArrayList<>(result.ops);
+            plainer.set(i, new AiOp(op.observed, "MISS"));
+            int step = aiDivergence(result.with(plainer));
+            if (step >= 0) {
+                result = result.with(new ArrayList<>(plainer.subList(0, step + 1)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * ReferenceAI class: the original list-based AI, plus the opening book, placement weighting and
+     * observe() as AI is meant to do them (same random draws), kept only to check against
+     */
+    static class ReferenceAI implements AIUnderTest {
+        private final Random random;
+        private final PlacementModel placementModel;
+        private final List<String> book;
+        private final int bookSymmetry;
+        private final List<String> availableTargets = new ArrayList<>();
+        private final List<String> targetQueue = new ArrayList<>();
+        private int huntShots;
+
+        ReferenceAI(PlacementModel placementModel, Random random, List<String> book) {
+            this.placementModel = placementModel;
+            this.random = random;
+            this.book = book;
+            this.bookSymmetry = random.nextInt(8);
+            for (char col = 'A'; col <= 'J'; col++) {
+                for (int row = 1; row <= 10; row++) {
+                    availableTargets.add(col + "" + row);
+                }
+            }
+        }
+
+        public String makeMove() {
+            String target;
+            if (!targetQueue.isEmpty()) {
+                target = targetQueue.remove(0);
+            } else {
+                if (availableTargets.isEmpty()) return null;
+                target = null;
+                if (book != null && huntShots < OpeningBook.BOOK_SHOTS) {
+                    List<String> open = new ArrayList<>();
+                    for (String shot : book) {
+                        int[] turned = Board.transform(bookSymmetry, Integer.parseInt(shot.substring(1)) - 1, shot.charAt(0) - 'A');
+                        String cell = (char) ('A' + turned[1]) + "" + (turned[0] + 1);
+                        if (availableTargets.contains(cell)) open.add(cell);
+                    }
+                    if (!open.isEmpty()) target = pick(open);
+                }
+                if (target == null) target = pick(availableTargets);
+                huntShots++;
+            }
+            availableTargets.remove(target);
+            return target;
+        }
+
+        // evenly without a placement model, otherwise weighted by it
+        private String pick(List<String> cells) {
+            if (placementModel == null) {
+                return cells.get(random.nextInt(cells.size()));
+            }
+            double[] weights = new double[cells.size()];
+            double total = 0;
+            for (int i = 0; i < weights.length; i++) {
+                String cell = cells.get(i);
+                weights[i] = placementModel.weight(Integer.parseInt(cell.substring(1)) - 1, cell.charAt(0) - 'A');
+                total += weights[i];
+            }
+            double pick = random.nextDouble() * total;
+            for (int i = 0; i < weights.length; i++) {
+                pick -= weights[i];
+                if (pick < 0) return cells.get(i);
+            }
+            return cells.get(weights.length - 1);
+        }
+
+        public void processResult(String target, String result) {
+            if (!result.equals("HIT")) return;
+            int row = Integer.parseInt(target.substring(1)) - 1;
+            int col = target.charAt(0) - 'A';
+            addTarget(row - 1, col);
+            addTarget(row + 1, col);
+            addTarget(row, col - 1);
+            addTarget(row, col + 1);
+        }
+
+        public void observe(String target, String result) {
+            availableTargets.remove(target);
+            targetQueue.remove(target);
+            processResult(target, result);
+        }
+
+        private void addTarget(int row, int col) {
+            if (row < 0 || row >= 10 || col < 0 || col >= 10) return;
+            String cell = (char) ('A' + col) + "" + (row + 1);
+            if (availableTargets.contains(cell) && !targetQueue.contains(cell)) {
+                targetQueue.add(cell);
+            }
+        }
+    }
+
+    /**
+     * ReferenceBoard class: the original char-grid Board logic, kept only to check against
+     */
+    static class ReferenceBoard implements BoardUnderTest {
+        private static final int size = 10;
+        private final char[][] grid = new char[size][size];           // '.' water, 'S' ship, 'X' hit, 'O' miss
+        private final boolean[][] shipPositions = new boolean[size][size];
+
+        ReferenceBoard() {
+            for (char[] row : grid) Arrays.fill(row, '.');
+        }
+
+        public boolean placeShip(int length, String startCoord, boolean horizontal) {
+            int[] coords = parseCoordinate(startCoord);
+            if (coords == null) return false;
+            int row = coords[0];
+            int col = coords[1];
+            if (horizontal ? col + length > size : row + length > size) return false;
+
+            for (int i = 0; i < length; i++) {
+                if (shipPositions[horizontal ? row : row + i][horizontal ? col + i : col]) return false;
+            }
+            for (int i = 0; i < length; i++) {
+                grid[horizontal ? row : row + i][horizontal ? col + i : col] = 'S';
+                shipPositions[horizontal ? row : row + i][horizontal ? col + i : col] = true;
+            }
+            return true;
+        }
+
+        public String shoot(String coordinate) {
+            int[] coords = parseCoordinate(coordinate);
+            if (coords == null) return "INVALID";
+            int row = coords[0];
+            int col = coords[1];
+            if (grid[row][col] == 'X' || grid[row][col] == 'O') return "ALREADY_SHOT";
+            if (shipPositions[row][col]) {
+                grid[row][col] = 'X';
+                return "HIT";
+            }
+            grid[row][col] = 'O';
+            return "MISS";
+        }
+
+        public boolean allShipsSunk() {
+            for (char[] row : grid) {
+                for (char cell : row) {
+                    if (cell == 'S') return false;
+                }
+            }
+            return true;
+        }
+
+        private static int[] parseCoordinate(String coord) {
+            if (coord == null || coord.length() < 2 || coord.length() > 3) return null;
+            coord = coord.toUpperCase();
+            char colChar = coord.charAt(0);
+            if (colChar < 'A' || colChar > 'J') return null;
+            try {
+                int row = Integer.parseInt(coord.substring(1)) - 1;
+                int col = colChar - 'A';
+                if (row < 0 || row >= size || col < 0 || col >= size) return null;
+                return new int[]{row, col};
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
+
+/**
+ * TargetAssist class showing the human how likely each unknown cell is to hold a ship
+ * The map only uses what the human has been shown: the cells shot, hit or miss, and which ships sank
+ * A board only changes when its owner's opponent shoots, so the map for the next turn is started on a
+ * background thread as soon as the human's shot lands and has the other player's turn to finish
+ */
+class TargetAssist {
+    private static final char[] SHADES = {'·', '░', '▒', '▓', '█'}; // least to most likely
+    private static final long WAIT_MS = 250; // longest the target prompt waits for a late map
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "target-assist");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<Player, Future<double[]>> pending = new HashMap<>(); // latest map per opponent board
+    private final Map<Player, char[]> pendingMarks = new HashMap<>(); // hit/miss symbol per cell shot when it started
+
+    public boolean isStarted(Player opponent) {
+        return pending.containsKey(opponent);
+    }
+
+    // takes a copy of what the player knows about the opponent and starts the map in the background
+    public void start(Player opponent) {
+        int size = Board.getSize();
+        Board board = opponent.getBoard();
+        boolean[] blocked = new boolean[size * size];
+        boolean[] hits = new boolean[size * size];
+        char[] marks = new char[size * size];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int index = row * size + col;
+                if (!board.isShot(row, col)) continue;
+                hits[index] = board.isHit(row, col);
+                blocked[index] = !hits[index];
+                marks[index] = hits[index] ? Board.hit : Board.miss;
+            }
+        }
+
+        // only the lengths of sunk ships were announced, where they lay is left to be worked out among the hits
+        List<Integer> afloat = new ArrayList<>();
+        List<Integer> sunk = new ArrayList<>();
+        for (Ship ship : opponent.getShips()) {
+            (ship.isSunk() ? sunk : afloat).add(ship.getLength());
+        }
+        int[] lengths = afloat.stream().mapToInt(Integer::intValue).toArray();
+        int[] sunkLengths = sunk.stream().mapToInt(Integer::intValue).toArray();
+
+        // the previous map of this board is out of date now; stop it if it is still running
+        Future<double[]> previous = pending.get(opponent);
+        if (previous != null) previous.cancel(true);
+        pendingMarks.put(opponent, marks);
+        pending.put(opponent, worker.submit(() -> ShotAnalyzer.hitChances(lengths, sunkLengths, blocked, hits)));
+    }
+
+    // prints the latest map of the opponent's board, waiting a moment for it if it is still running
+    public void show(Player opponent) {
+        Future<double[]> map = pending.get(opponent);
+        if (map == null) return;
+        try {
+            render(map.get(WAIT_MS, TimeUnit.MILLISECONDS), pendingMarks.get(opponent));
+        } catch (TimeoutException e) {
+            System.out.println("\n(Targeting assist wasn't ready in time, no map this turn.)");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.out.println("\n(Targeting assist failed: " + e.getCause() + ")");
+        }
+    }
+
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private void render(double[] density, char[] marks) {
+        String PINK = ShipHunters.ANSI_PINK;
+        String PURPLE = ShipHunters.ANSI_PURPLE;
+        String RESET = ShipHunters.ANSI_RESET;
+        int size = Board.getSize();
+
+        int best = 0;
+        for (int i = 1; i < density.length; i++) {
+            if (density[i] > density[best]) best = i;
+        }
+        double max = density[best];
+
+        System.out.println("\nTargeting assist (darker = more likely):");
+        System.out.print("     ");
+        for (char c = 'A'; c < 'A' + size; c++) {
+            System.out.print(PINK + c + RESET + " ");
+        }
+        System.out.println();
+        for (int row = 0; row < size; row++) {
+            System.out.print(PINK + String.format("%2d", row + 1) + RESET + "   ");
+            for (int col = 0; col < size; col++) {
+                int index = row * size + col;
+                if (marks[index] != 0) {
+                    System.out.print((marks[index] == Board.hit ? PINK : PURPLE) + marks[index] + RESET + " ");
+                } else {
+                    int shade = max <= 0 ? 0 : (int) Math.round(density[index] / max * (SHADES.length - 1));
+                    System.out.print((index == best ? PINK : "") + SHADES[shade] + RESET + " ");
+                }
+            }
+            System.out.println();
+        }
+        if (max > 0) {
+            System.out.println("Best guess: " + (char) ('A' + best % size) + (best / size + 1));
+        }
+    }
+}
+
+/**
+ * ShotAnalyzer class rating the shots of a finished two-player game
+ * Replays the shots to rebuild what the shooter had been shown before each one, then rates every shot in
+ * parallel. A shot's chance to hit is exact: every layout of the fleet that fits the hits, misses and sunk
+ * ships is counted. Shots lost compares the expected shots left to finish the fleet after this shot and after
+ * the most likely cell, played out by a greedy hunter on layouts drawn from the same count.
+ * Results are cached per board state, so openings shared by many games are only worked out once.
+ */
+class ShotAnalyzer {
+    private static final int CACHE_LIMIT = 20000; // board states kept before the caches start over
+    private static final int SAMPLES = 48;         // layouts both candidate shots are played out on
+    private static final Map<String, Posterior> posteriors = new ConcurrentHashMap<>();
+    private static final Map<String, Double> shotsLeft = new ConcurrentHashMap<>();
+
+    // one rated shot
+    static class Rating {
+        final int turn;
+        final int shooter;       // 0 or 1, index into the players array
+        final int cell;          // row * size + col
+        final boolean hit;
+        final double chance;     // chance the shot would hit, given what the shooter knew
+        final int best;          // most likely cell at that moment
+        final double bestChance;
+        final double shotsLeft;     // expected shots to sink the rest of the fleet, this shot included
+        final double bestShotsLeft; // the same, shooting at best instead
+
+        Rating(int turn, int shooter, int cell, boolean hit, double chance, int best, double bestChance,
+               double shotsLeft, double bestShotsLeft) {
+            this.turn = turn;
+            this.shooter = shooter;
+            this.cell = cell;
+            this.hit = hit;
+            this.chance = chance;
+            this.best = best;
+            this.bestChance = bestChance;
+            this.shotsLeft = shotsLeft;
+            this.bestShotsLeft = bestShotsLeft;
+        }
+
+        boolean isBest() {
+            return cell == best;
+        }
+
+        // expected extra shots the game takes because of not taking the best cell;
+        // an estimate, so it can come out slightly negative
+        double lost() {
+            return shotsLeft - bestShotsLeft;
+        }
+    }
+
+    // what a shooter knew about the defending board just before a shot
+    private static class Knowledge {
+        final String key;
+        final int[] lengths;     // ships still afloat
+        final int[] sunk;        // ships announced sunk, somewhere on the hits
+        final boolean[] blocked; // misses
+        final boolean[] hits;
+
+        Knowledge(int[] lengths, int[] sunk, boolean[] blocked, boolean[] hits) {
+            this.lengths = lengths;
+            this.sunk = sunk;
+            this.blocked = blocked;
+            this.hits = hits;
+            StringBuilder key = new StringBuilder(Arrays.toString(lengths) + Arrays.toString(sunk));
+            for (int i = 0; i < blocked.length; i++) {
+                key.append(blocked[i] ? 'o' : hits[i] ? 'x' : '.');
+            }
+            this.key = key.toString();
+        }
+    }
+
+    // one way to put one ship on the board, its cells as a bit mask split over two longs
+    private static class Placement {
+        final int[] cells;
+        final long low;  // cells 0 to 63
+        final long high; // cells 64 and up
+        final int code;  // first cell * 2 + 1 if vertical, enough to rebuild the cells given the length
+
+        Placement(int[] cells) {
+            this.cells = cells;
+            this.code = cells.length == 0 ? 0 : cells[0] * 2 + (cells.length > 1 && cells[1] - cells[0] > 1 ? 1 : 0);
+            long low = 0;
+            long high = 0;
+            for (int cell : cells) {
+                if (cell < 64) low |= 1L << cell;
+                else high |= 1L << (cell - 64);
+            }
+            this.low = low;
+            this.high = high;
+        }
+
+        static int[] cells(int code, int length) {
+            int step = (code & 1) != 0 ? Board.getSize() : 1;
+            int[] cells = new int[length];
+            for (int k = 0; k < length; k++) cells[k] = (code >> 1) + k * step;
+            return cells;
+        }
+    }
+
+    // the hit chance of every cell in one known state, and layouts drawn evenly from all that fit it
+    private static class Posterior {
+        final double[] chance;
+        final int best;
+        final int[][] samples; // per sample, the placement code of each ship still afloat
+
+        Posterior(double[] chance, int best, int[][] samples) {
+            this.chance = chance;
+            this.best = best;
+            this.samples = samples;
+        }
+    }
+
+    /**
+     * Enumeration class counting every joint layout of the fleet that fits a known state: no ship on a
+     * blocked cell, sunk ships wholly on hits, none afloat fully hit (it would have been sunk), every hit covered.
+     * Sunk ships come first and the ships afloat after them, in the order of the known state.
+     * The last ship is counted with bit sets of its placements instead of one by one, so even the
+     * empty board (a few million layouts) takes only milliseconds.
+     */
+    private static class Enumeration {
+        final Placement[][] placements; // per ship, sunk ones first
+        final long[][] counts;          // layouts that use each placement
+        final int last;                 // the ship counted with bit sets
+        final long[][] covering;        // per cell, the last ship's placements that cover it
+        final long[] all;               // every placement of the last ship
+        final int[] hitCells;
+        final long[] minus;             // per last-ship placement, prefixes it didn't fit
+        final long[][] fits;            // per ship, scratch for the last ship's placements still off the used cells
+        long everyPrefix;               // prefixes that left no hit uncovered
+
+        Enumeration(Knowledge knowledge) {
+            int size = Board.getSize();
+            int sunk = knowledge.sunk.length;
+            placements = new Placement[sunk + knowledge.lengths.length][];
+            counts = new long[placements.length][];
+            for (int s = 0; s < placements.length; s++) {
+                placements[s] = s < sunk
+                        ? placements(knowledge.sunk[s], knowledge.blocked, knowledge.hits, true)
+                        : placements(knowledge.lengths[s - sunk], knowledge.blocked, knowledge.hits, false);
+                counts[s] = new long[placements[s].length];
+            }
+            last = placements.length - 1;
+
+            int words = (placements[last].length + 63) / 64;
+            covering = new long[size * size][words];
+            all = new long[words];
+            for (int p = 0; p < placements[last].length; p++) {
+                all[p >>> 6] |= 1L << p;
+                for (int cell : placements[last][p].cells) {
+                    covering[cell][p >>> 6] |= 1L << p;
+                }
+            }
+            minus = new long[placements[last].length];
+            fits = new long[placements.length + 1][words];
+            List<Integer> hits = new ArrayList<>();
+            for (int i = 0; i < size * size; i++) {
+                if (knowledge.hits[i]) hits.add(i);
+            }
+            hitCells = hits.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        // placements of one ship: a sunk one only on hits, one afloat off the blocked cells and not fully hit
+        private static Placement[] placements(int length, boolean[] blocked, boolean[] hits, boolean sunk) {
+            int size = Board.getSize();
+            List<Placement> result = new ArrayList<>();
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    for (int dir = 0; dir < (length > 1 ? 2 : 1); dir++) {
+                        boolean horizontal = dir == 0;
+                        if ((horizontal ? col : row) + length > size) continue;
+                        int[] cells = new int[length];
+                        boolean fits = true;
+                        boolean unhit = false;
+                        for (int k = 0; k < length && fits; k++) {
+                            cells[k] = horizontal ? row * size + col + k : (row + k) * size + col;
+                            fits = sunk ? hits[cells[k]] : !blocked[cells[k]];
+                            unhit |= !hits[cells[k]];
+                        }
+                        if (fits && (sunk || unhit)) result.add(new Placement(cells));
+                    }
+                }
+            }
+            return result.toArray(new Placement[0]);
+        }
+
+        // counts every layout, filling in counts; returns how many there are
+        long countAll() {
+            long total = count(0, 0, 0, all, true);
+            for (int p = 0; p < minus.length; p++) {
+                counts[last][p] += everyPrefix - minus[p];
+            }
+            return total;
+        }
+
+        private static boolean overlaps(Placement placement, long usedLow, long usedHigh) {
+            return (placement.low & usedLow) != 0 || (placement.high & usedHigh) != 0;
+        }
+
+        // layouts completing the ships placed so far (their cells in used, the last ship's placements
+        // still off them in free), optionally added to counts
+        private long count(int ship, long usedLow, long usedHigh, long[] free, boolean record) {
+            if (ship == last) return lastShip(usedLow, usedHigh, free, record);
+            long total = 0;
+            long[] next = fits[ship];
+            for (int p = 0; p < placements[ship].length; p++) {
+                Placement option = placements[ship][p];
+                if (overlaps(option, usedLow, usedHigh)) continue;
+                System.arraycopy(free, 0, next, 0, next.length);
+                for (int cell : option.cells) clear(next, covering[cell]);
+                long n = count(ship + 1, usedLow | option.low, usedHigh | option.high, next, record);
+                if (record) counts[ship][p] += n;
+                total += n;
+            }
+            return total;
+        }
+
+        // the last ship's placements that complete a layout: free ones covering every hit left
+        private long[] fitting(long usedLow, long usedHigh, long[] free) {
+            long[] fit = fits[placements.length];
+            System.arraycopy(free, 0, fit, 0, fit.length);
+            for (int hit : hitCells) {
+                if (!isUsed(hit, usedLow, usedHigh)) {
+                    for (int w = 0; w < fit.length; w++) fit[w] &= covering[hit][w];
+                }
+            }
+            return fit;
+        }
+
+        // the last ship's placements off the used cells, worked out from scratch
+        private long[] free(long usedLow, long usedHigh) {
+            long[] free = all.clone();
+            for (long bits = usedLow; bits != 0; bits &= bits - 1) {
+                clear(free, covering[Long.numberOfTrailingZeros(bits)]);
+            }
+            for (long bits = usedHigh; bits != 0; bits &= bits - 1) {
+                clear(free, covering[64 + Long.numberOfTrailingZeros(bits)]);
+            }
+            return free;
+        }
+
+        private long lastShip(long usedLow, long usedHigh, long[] free, boolean record) {
+            long[] fit = fitting(usedLow, usedHigh, free);
+            long n = 0;
+            for (long word : fit) n += Long.bitCount(word);
+            if (!record || n == 0) return n;
+
+            boolean hitsLeft = false;
+            for (int hit : hitCells) hitsLeft |= !isUsed(hit, usedLow, usedHigh);
+            if (hitsLeft) {
+                // few placements fit, add them one by one
+                for (int w = 0; w < fit.length; w++) {
+                    for (long bits = fit[w]; bits != 0; bits &= bits - 1) {
+                        counts[last][w * 64 + Long.numberOfTrailingZeros(bits)]++;
+                    }
+                }
+            } else {
+                // most placements fit, count the prefix for all of them and remember the few that don't
+                everyPrefix++;
+                for (int w = 0; w < fit.length; w++) {
+                    for (long bits = all[w] & ~fit[w]; bits != 0; bits &= bits - 1) {
+                        minus[w * 64 + Long.numberOfTrailingZeros(bits)]++;
+                    }
+                }
+            }
+            return n;
+        }
+
+        private static void clear(long[] fit, long[] cover) {
+            for (int w = 0; w < fit.length; w++) fit[w] &= ~cover[w];
+        }
+
+        private static boolean isUsed(int cell, long usedLow, long usedHigh) {
+            return cell < 64 ? (usedLow >>> cell & 1) != 0 : (usedHigh >>> (cell - 64) & 1) != 0;
+        }
+
+        // one layout drawn evenly from all of them: each ship in turn, weighted by the layouts it leaves
+        Placement[] draw(Random random) {
+            Placement[] layout = new Placement[placements.length];
+            long usedLow = 0;
+            long usedHigh = 0;
+            for (int ship = 0; ship < last; ship++) {
+                long[] weights = new long[placements[ship].length];
+                long total = 0;
+                for (int p = 0; p < weights.length; p++) {
+                    Placement option = placements[ship][p];
+                    if (overlaps(option, usedLow, usedHigh)) continue;
+                    long low = usedLow | option.low;
+                    long high = usedHigh | option.high;
+                    weights[p] = ship == 0 ? counts[0][p] : count(ship + 1, low, high, free(low, high), false);
+                    total += weights[p];
+                }
+                double pick = random.nextDouble() * total;
+                int chosen = -1;
+                for (int p = 0; p < weights.length; p++) {
+                    if (weights[p] == 0) continue;
+                    chosen = p;
+                    pick -= weights[p];
+                    if (pick < 0) break;
+                }
+                layout[ship] = placements[ship][chosen];
+                usedLow |= layout[ship].low;
+                usedHigh |= layout[ship].high;
+            }
+
+            long[] fit = fitting(usedLow, usedHigh, free(usedLow, usedHigh));
+            int n = 0;
+            for (long word : fit) n += Long.bitCount(word);
+            int k = random.nextInt(n);
+            for (int w = 0; w < fit.length; w++) {
+                for (long bits = fit[w]; bits != 0; bits &= bits - 1) {
+                    if (k-- == 0) layout[last] = placements[last][w * 64 + Long.numberOfTrailingZeros(bits)];
+                }
+            }
+            return layout;
+        }
+    }
+
+    // shots are packed as in GameResult.packShot; players[shooter] fired at players[1 - shooter]
+    public static List<Rating> analyze(int[] shots, Player[] players) {
+        int size = Board.getSize();
+        boolean[][] blocked = new boolean[2][size * size];
+        boolean[][] hits = new boolean[2][size * size];
+        List<List<Integer>> afloat = new ArrayList<>();
+        List<List<Integer>> sunk = new ArrayList<>();
+        for (int d = 0; d < 2; d++) {
+            afloat.add(players[d].getShips().stream().map(Ship::getLength).collect(Collectors.toList()));
+            sunk.add(new ArrayList<>());
+        }
+
+        // replay in order, remembering what the shooter had been shown of the defender's board before each
+        // shot: hit or miss, and the length of any ship it sank, never where the defender's ships lie
+        Knowledge[] before = new Knowledge[shots.length];
+        for (int i = 0; i < shots.length; i++) {
+            int d = 1 - GameResult.shotShooter(shots[i]);
+            int cell = GameResult.shotCell(shots[i]);
+            before[i] = new Knowledge(afloat.get(d).stream().mapToInt(Integer::intValue).toArray(),
+                    sunk.get(d).stream().mapToInt(Integer::intValue).toArray(), blocked[d].clone(), hits[d].clone());
+
+            if (!GameResult.shotHit(shots[i])) {
+                blocked[d][cell] = true;
+                continue;
+            }
+            hits[d][cell] = true;
+            int ship = GameResult.shotSunk(shots[i]);
+            if (ship > 0) {
+                int length = players[d].getShips().get(ship - 1).getLength();
+                afloat.get(d).remove(Integer.valueOf(length));
+                sunk.get(d).add(length);
+            }
+        }
+
+        if (posteriors.size() > CACHE_LIMIT) posteriors.clear();
+        if (shotsLeft.size() > CACHE_LIMIT) shotsLeft.clear();
+        return IntStream.range(0, shots.length).parallel()
+                .mapToObj(i -> rate(shots[i], before[i]))
+                .collect(Collectors.toList());
+    }
+
+    private static Rating rate(int shot, Knowledge knowledge) {
+        Posterior posterior = posteriors.computeIfAbsent(knowledge.key, key -> posterior(knowledge));
+        int cell = GameResult.shotCell(shot);
+        int best = posterior.best;
+        double left = expectedShotsLeft(knowledge, posterior, cell);
+        double bestLeft = cell == best ? left : expectedShotsLeft(knowledge, posterior, best);
+        return new Rating(GameResult.shotTurn(shot), GameResult.shotShooter(shot), cell, GameResult.shotHit(shot),
+                posterior.chance[cell], best, posterior.chance[best], left, bestLeft);
+    }
+
+    // the chance of each cell to hold a ship afloat, for the targeting assist; lengths are the ships
+    // still afloat and sunk the ones announced sunk, blocked and hits as the shooter has seen them
+    public static double[] hitChances(int[] lengths, int[] sunk, boolean[] blocked, boolean[] hits) {
+        Knowledge knowledge = new Knowledge(lengths, sunk, blocked, hits);
+        double[] chance = new double[Board.getSize() * Board.getSize()];
+        if (lengths.length > 0) addChances(new Enumeration(knowledge), chance);
+        clearKnown(knowledge, chance);
+        return chance;
+    }
+
+    private static Posterior posterior(Knowledge knowledge) {
+        int size = Board.getSize();
+        double[] chance = new double[size * size];
+        int[][] samples = new int[0][];
+        if (knowledge.lengths.length > 0) {
+            Enumeration enumeration = new Enumeration(knowledge);
+            if (addChances(enumeration, chance)) {
+                // seeded from the state, so a state always gets the same samples; only the ships afloat are kept
+                Random random = new Random(knowledge.key.hashCode());
+                int sunk = knowledge.sunk.length;
+                samples = new int[SAMPLES][];
+                for (int i = 0; i < SAMPLES; i++) {
+                    samples[i] = Arrays.stream(enumeration.draw(random)).skip(sunk)
+                            .mapToInt(placement -> placement.code).toArray();
+                }
+            }
+        }
+        return new Posterior(chance, clearKnown(knowledge, chance), samples);
+    }
+
+    // counts every layout and adds each cell's share of them to chance; false if nothing fits
+    private static boolean addChances(Enumeration enumeration, double[] chance) {
+        long total = enumeration.countAll();
+        if (total == 0) return false;
+        for (int s = 0; s < enumeration.placements.length; s++) {
+            for (int p = 0; p < enumeration.placements[s].length; p++) {
+                for (int c : enumeration.placements[s][p].cells) {
+                    chance[c] += (double) enumeration.counts[s][p] / total;
+                }
+            }
+        }
+        return true;
+    }
+
+    // zeroes the cells already shot, returns the most likely of the others
+    private static int clearKnown(Knowledge knowledge, double[] chance) {
+        int best = -1;
+        for (int i = 0; i < chance.length; i++) {
+            if (knowledge.blocked[i] || knowledge.hits[i]) {
+                chance[i] = 0;
+            } else if (best < 0 || chance[i] > chance[best]) {
+                best = i;
+            }
+        }
+        return Math.max(best, 0);
+    }
+
+    // average over the state's samples, the same samples for every cell so differences aren't sampling noise
+    private static double expectedShotsLeft(Knowledge knowledge, Posterior posterior, int first) {
+        return shotsLeft.computeIfAbsent(knowledge.key + "@" + first, key -> {
+            if (posterior.samples.length == 0) return 1.0;
+            Hunter start = new Hunter(knowledge);
+            double total = 0;
+            for (int[] layout : posterior.samples) {
+                total += playOut(knowledge, new Hunter(start), layout, first);
+            }
+            return total / posterior.samples.length;
+        });
+    }
+
+    // shots the hunter needs to sink one sampled layout, firing at first and then at its densest cell
+    private static int playOut(Knowledge knowledge, Hunter hunter, int[] layout, int first) {
+        int size = Board.getSize();
+        int[] shipAt = new int[size * size];
+        int[] unhit = new int[layout.length];
+        for (int s = 0; s < layout.length; s++) {
+            for (int c : Placement.cells(layout[s], knowledge.lengths[s])) {
+                shipAt[c] = s + 1;
+                if (!knowledge.hits[c]) unhit[s]++;
+            }
+        }
+
+        int afloat = layout.length;
+        int shots = 0;
+        int cell = first;
+        while (shots < size * size) {
+            shots++;
+            int ship = shipAt[cell] - 1;
+            if (ship < 0) {
+                hunter.miss(cell);
+            } else if (--unhit[ship] > 0) {
+                hunter.hit(cell);
+            } else {
+                afloat--;
+                hunter.sunk(ship, cell);
+            }
+            if (afloat == 0) break;
+            cell = hunter.next();
+        }
+        return shots;
+    }
+
+    /**
+     * Hunter class: the greedy player that plays out sampled layouts
+     * Fires at the cell most likely to hold a ship, weighted like TargetDensity, and only
+     * updates the placements through each shot cell instead of recounting the board.
+     */
+    private static class Hunter {
+        final Placement[][] options; // per ship, placements that fit the known state
+        final int[][][] through;     // per ship and cell, the options covering it
+        final double[][] weights;    // 0 once an option is ruled out
+        final double[][] cover;      // per ship, summed weight of the options on each cell
+        final double[] totals;
+        final boolean[] known;
+        final boolean[] afloat;
+
+        Hunter(Knowledge knowledge) {
+            int size = Board.getSize();
+            int ships = knowledge.lengths.length;
+            options = new Placement[ships][];
+            through = new int[ships][size * size][];
+            weights = new double[ships][];
+            cover = new double[ships][size * size];
+            totals = new double[ships];
+            known = new boolean[size * size];
+            afloat = new boolean[ships];
+            for (int i = 0; i < known.length; i++) {
+                known[i] = knowledge.blocked[i] || knowledge.hits[i];
+            }
+
+            for (int s = 0; s < ships; s++) {
+                afloat[s] = true;
+                options[s] = Enumeration.placements(knowledge.lengths[s], knowledge.blocked, knowledge.hits, false);
+                weights[s] = new double[options[s].length];
+                int[] covering = new int[size * size];
+                for (int p = 0; p < options[s].length; p++) {
+                    double weight = 1.0;
+                    for (int c : options[s][p].cells) {
+                        covering[c]++;
+                        if (knowledge.hits[c]) weight *= TargetDensity.HIT_WEIGHT;
+                    }
+                    set(s, p, weight);
+                }
+                for (int c = 0; c < size * size; c++) {
+                    through[s][c] = new int[covering[c]];
+                }
+                for (int p = 0; p < options[s].length; p++) {
+                    for (int c : options[s][p].cells) {
+                        through[s][c][--covering[c]] = p;
+                    }
+                }
+            }
+        }
+
+        // a copy to play one layout out on; the options are shared
+        Hunter(Hunter start) {
+            options = start.options;
+            through = start.through;
+            weights = new double[start.weights.length][];
+            cover = new double[start.cover.length][];
+            for (int s = 0; s < weights.length; s++) {
+                weights[s] = start.weights[s].clone();
+                cover[s] = start.cover[s].clone();
+            }
+            totals = start.totals.clone();
+            known = start.known.clone();
+            afloat = start.afloat.clone();
+        }
+
+        private void set(int ship, int option, double weight) {
+            double change = weight - weights[ship][option];
+            for (int c : options[ship][option].cells) cover[ship][c] += change;
+            totals[ship] += change;
+            weights[ship][option] = weight;
+        }
+
+        // rules out or reweights every option of a ship still afloat that runs through cell
+        private void scale(int cell, double factor) {
+            for (int s = 0; s < options.length; s++) {
+                if (!afloat[s]) continue;
+                for (int p : through[s][cell]) {
+                    if (weights[s][p] > 0) set(s, p, weights[s][p] * factor);
+                }
+            }
+        }
+
+        void miss(int cell) {
+            known[cell] = true;
+            scale(cell, 0);
+        }
+
+        void hit(int cell) {
+            known[cell] = true;
+            scale(cell, TargetDensity.HIT_WEIGHT);
+        }
+
+        // only the sunk ship is announced, not its cells; the cell that sank it can't hold another ship
+        void sunk(int ship, int cell) {
+            afloat[ship] = false;
+            known[cell] = true;
+            scale(cell, 0);
+        }
+
+        int next() {
+            int best = -1;
+            double bestDensity = -1;
+            for (int i = 0; i < known.length; i++) {
+                if (known[i]) continue;
+                double density = 0;
+                for (int s = 0; s < options.length; s++) {
+                    if (afloat[s] && totals[s] > 0) density += cover[s][i] / totals[s];
+                }
+                if (density > bestDensity) {
+                    best = i;
+                    bestDensity = density;
+                }
+            }
+            return best;
+        }
+    }
+
+    public static void printSummary(List<Rating> ratings, Player[] players) {
+        String PINK = ShipHunters.ANSI_PINK;
+        String RESET = ShipHunters.ANSI_RESET;
+        System.out.println(PINK + "\n⫘⫘⫘⫘⫘⫘⫘⫘⫘  SHOT QUALITY ⫘⫘⫘⫘⫘⫘⫘⫘⫘" + RESET);
+        for (int p = 0; p < players.length; p++) {
+            int count = 0;
+            int bestShots = 0;
+            double chance = 0;
+            double lost = 0;
+            for (Rating rating : ratings) {
+                if (rating.shooter != p) continue;
+                count++;
+                chance += rating.chance;
+                lost += rating.lost();
+                if (rating.isBest()) bestShots++;
+            }
+            if (count == 0) continue;
+            System.out.println(PINK + players[p].getName() + ":" + RESET);
+            System.out.println(PINK + "  Average chance to hit: " + RESET + String.format("%.1f", 100 * chance / count) + "%");
+            System.out.println(PINK + "  Best available shot: " + RESET + bestShots + " of " + count);
+            System.out.println(PINK + "  Expected shots lost: " + RESET + String.format("%.2f", lost));
+        }
+    }
+
+    public static void printShots(List<Rating> ratings, Player[] players) {
+        System.out.println(String.format("%n%-5s %-14s %-5s %-6s %7s %-5s %7s %10s",
+                "Turn", "Player", "Shot", "Result", "Chance", "Best", "Chance", "Shots lost"));
+        for (Rating rating : ratings) {
+            System.out.println(String.format("%-5d %-14.14s %-5s %-6s %6.1f%% %-5s %6.1f%% %10.2f",
+                    rating.turn, players[rating.shooter].getName(), cellName(rating.cell), rating.hit ? "HIT" : "miss",
+                    100 * rating.chance, cellName(rating.best), 100 * rating.bestChance, rating.lost()));
+        }
+    }
+
+    private static String cellName(int cell) {
+        int size = Board.getSize();
+        return (char) ('A' + cell % size) + "" + (cell / size + 1);
+    }
+}
+
+/**
+ * ResultExporter class streaming simulated games to a file on a background thread
+ * Writes CSV, or a binary column layout when the file name ends in .shx
+ * Both formats start with GameSimulator.setup(), a "#" line in CSV
+ * Binary layout: "SHX2", the setup (writeUTF), a byte saying whether shots are included, then chunks of
+ * [table byte (0 games, 1 shots)][row count int][each column's values back to back]
+ */
+class ResultExporter implements AutoCloseable {
+    private static final int QUEUE_GAMES = 1024; // games waiting for the writer; simulation waits when full
+    private static final int CHUNK_ROWS = 4096;  // rows per column chunk in the binary layout
+    private static final GameResult END = new GameResult(0, 0, 0, null, null, null);
+
+    private final BlockingQueue<GameResult> queue = new ArrayBlockingQueue<>(QUEUE_GAMES);
+    private final Path file;
+    private final boolean includeShots;
+    private final Thread writer;
+    private volatile Throwable failure; // whatever stopped the writer thread
+
+    public ResultExporter(Path file, boolean includeShots) {
+        this.file = file;
+        this.includeShots = includeShots;
+        this.writer = new Thread(this::writeAll, "result-exporter");
+        writer.start();
+    }
+
+    // hands one game to the writer, blocking while the buffer is full
+    public void submit(GameResult result) {
+        checkFailure();
+        try {
+            queue.put(result);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            queue.put(END);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        checkFailure();
+    }
+
+    private void checkFailure() {
+        if (failure instanceof IOException) {
+            throw new UncheckedIOException("Export to " + file + " failed: " + failure, (IOException) failure);
+        } else if (failure != null) {
+            throw new IllegalStateException("Export to " + file + " failed: " + failure, failure);
+        }
+    }
+
+    private GameResult next() throws InterruptedException {
+        GameResult result = queue.take();
+        return result == END ? null : result;
+    }
+
+    private void writeAll() {
+        try {
+            if (file.toString().endsWith(".shx")) {
+                writeBinary();
+            } else {
+                writeCsv();
+            }
+        } catch (IOException | RuntimeException e) {
+            // a dead writer would leave the simulation blocked on a full queue
+            failure = e;
+            queue.clear(); // unblock the simulation so it can see the failure
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // games go to the given file, shots (if wanted) to a second file named <file>-shots.csv
+    private void writeCsv() throws IOException, InterruptedException {
+        Path shotFile = Paths.get(file.toString().replaceFirst("(\\.csv)?$", "-shots.csv"));
+        try (BufferedWriter games = Files.newBufferedWriter(file);
+             BufferedWriter shots = includeShots ? Files.newBufferedWriter(shotFile) : null) {
+            String setup = "# setup: " + GameSimulator.setup() + "\n";
+            games.write(setup);
+            if (shots != null) shots.write(setup);
+            games.write("seed,winner,turns,p1_shots_fired,p1_shots_hit,p2_shots_fired,p2_shots_hit\n");
+            if (shots != null) shots.write("seed,turn,shooter,cell,result,ship_sunk\n");
+
+            GameResult result;
+            while ((result = next()) != null) {
+                games.write(result.seed + "," + result.winner + "," + result.turns + ","
+                        + result.shotsFired[0] + "," + result.shotsHit[0] + ","
+                        + result.shotsFired[1] + "," + result.shotsHit[1] + "\n");
+                if (shots == null || result.shots == null) continue;
+                for (int shot : result.shots) {
+                    int cell = GameResult.shotCell(shot);
+                    int sunk = GameResult.shotSunk(shot);
+                    shots.write(result.seed + "," + GameResult.shotTurn(shot) + "," + (GameResult.shotShooter(shot) + 1) + ","
+                            + (char) ('A' + cell % Board.getSize()) + (cell / Board.getSize() + 1) + ","
+                            + (GameResult.shotHit(shot) ? "HIT" : "MISS") + ","
+                            + (sunk > 0 ? Player.FLEET_NAMES[sunk - 1] : "") + "\n");
+                }
+            }
+        }
+    }
+
+    private void writeBinary() throws IOException, InterruptedException {
+        // game columns
+        long[] seeds = new long[CHUNK_ROWS];
+        int[][] gameInts = new int[6][CHUNK_ROWS]; // winner, turns, p1 fired, p1 hit, p2 fired, p2 hit
+        int games = 0;
+        // shot columns
+        long[] shotSeeds = new long[CHUNK_ROWS];
+        int[] shotBits = new int[CHUNK_ROWS];
+        int shots = 0;
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            out.writeBytes("SHX2");
+            out.writeUTF(GameSimulator.setup());
+            out.writeBoolean(includeShots);
+
+            GameResult result;
+            while ((result = next()) != null) {
+                seeds[games] = result.seed;
+                gameInts[0][games] = result.winner;
+                gameInts[1][games] = result.turns;
+                gameInts[2][games] = result.shotsFired[0];
+                gameInts[3][games] = result.shotsHit[0];
+                gameInts[4][games] = result.shotsFired[1];
+                gameInts[5][games] = result.shotsHit[1];
+                if (++games == CHUNK_ROWS) {
+                    writeGameChunk(out, seeds, gameInts, games);
+                    games = 0;
+                }
+
+                if (!includeShots || result.shots == null) continue;
+                for (int shot : result.shots) {
+                    shotSeeds[shots] = result.seed;
+                    shotBits[shots] = shot;
+                    if (++shots == CHUNK_ROWS) {
+                        writeShotChunk(out, shotSeeds, shotBits, shots);
+                        shots = 0;
+                    }
+                }
+            }
+            if (games > 0) writeGameChunk(out, seeds, gameInts, games);
+            if (shots > 0) writeShotChunk(out, shotSeeds, shotBits, shots);
+        }
+    }
+
+    private static void writeGameChunk(DataOutputStream out, long[] seeds, int[][] columns, int rows) throws IOException {
+        out.writeByte(0);
+        out.writeInt(rows);
+        for (int i = 0; i < rows; i++) out.writeLong(seeds[i]);
+        out.write(toBytes(columns[0], rows)); // winner fits in a byte
+        for (int c = 1; c < columns.length; c++) {
+            for (int i = 0; i < rows; i++) out.writeShort(columns[c][i]);
+        }
+    }
+
+    // shot columns: seed (long), turn (short), shooter (byte), cell (byte), hit (byte), sunk ship (byte)
+    private static void writeShotChunk(DataOutputStream out, long[] seeds, int[] shots, int rows) throws IOException {
+        out.writeByte(1);
+        out.writeInt(rows);
+        for (int i = 0; i < rows; i++) out.writeLong(seeds[i]);
+        for (int i = 0; i < rows; i++) out.writeShort(GameResult.shotTurn(shots[i]));
+        for (int i = 0; i < rows; i++) out.writeByte(GameResult.shotShooter(shots[i]) + 1);
+        for (int i = 0; i < rows; i++) out.writeByte(GameResult.shotCell(shots[i]));
+        for (int i = 0; i < rows; i++) out.writeByte(GameResult.shotHit(shots[i]) ? 1 : 0);
+        for (int i = 0; i < rows; i++) out.writeByte(GameResult.shotSunk(shots[i]));
+    }
+
+    private static byte[] toBytes(int[] values, int rows) {
+        byte[] bytes = new byte[rows];
+        for (int i = 0; i < rows; i++) bytes[i] = (byte) values[i];
+        return bytes;
+    }
+}
+
+/**
+ * PlacementOptimizer class searching for fleet layouts that the AI's hunt finds slowly
+ * Runs offline (--optimize-layouts) and saves a table the AI samples from when placing ships
+ */
+class PlacementOptimizer {
+    private static final int POPULATION = 400;      // candidate layouts per round
+    private static final int SURVIVORS = 100;       // layouts kept each round and written to the table
+    private static final int ROUNDS = 4;            // rounds of keep-best-and-mutate
+    private static final int GAMES_PER_LAYOUT = 300; // simulated hunts per candidate each round
+    private static final int HELD_OUT_GAMES = 1000;  // fresh hunts per survivor before saving
+
+    private static List<String[]> table; // loaded on first use
+
+    public static Path defaultFile() {
+        return ShipHunters.dataDir().resolve("layouts.txt");
+    }
+
+    public static void run(Path file, long seed) {
+        Random random = new Random(seed);
+        List<String[]> population = new ArrayList<>();
+        while (population.size() < POPULATION) {
+            population.add(randomLayout(random));
+        }
+
+        List<String[]> best = population;
+        for (int round = 1; round <= ROUNDS; round++) {
+            // new hunter seeds every round, so selection can't settle on layouts that only beat one set of hunts
+            double[] scores = evaluate(population, random.nextLong(), GAMES_PER_LAYOUT);
+            Integer[] order = sortedByScore(scores);
+
+            best = new ArrayList<>();
+            for (int i = 0; i < SURVIVORS; i++) {
+                best.add(population.get(order[i]));
+            }
+            System.out.printf("Round %d: best %.2f shots, worst kept %.2f shots%n",
+                    round, scores[order[0]], scores[order[SURVIVORS - 1]]);
+
+            if (round < ROUNDS) {
+                population = new ArrayList<>(best);
+                while (population.size() < POPULATION) {
+                    population.add(mutate(best.get(random.nextInt(best.size())), random));
+                }
+            }
+        }
+
+        // the round scores are biased upwards by selection, so judge the survivors on hunts
+        // none of them were picked with, next to fresh random layouts facing the same hunts
+        long heldOutSeed = random.nextLong();
+        double[] heldOut = evaluate(best, heldOutSeed, HELD_OUT_GAMES);
+        List<String[]> baseline = new ArrayList<>();
+        while (baseline.size() < SURVIVORS) {
+            baseline.add(randomLayout(random));
+        }
+        double randomAverage = average(evaluate(baseline, heldOutSeed, HELD_OUT_GAMES));
+
+        Integer[] order = sortedByScore(heldOut);
+        List<String[]> kept = new ArrayList<>();
+        double keptTotal = 0;
+        for (Integer i : order) {
+            if (heldOut[i] <= randomAverage) break; // no better than a random layout
+            kept.add(best.get(i));
+            keptTotal += heldOut[i];
+        }
+        System.out.printf("Held-out (%d fresh hunts each): survivors %.2f shots, random layouts %.2f shots%n",
+                HELD_OUT_GAMES, average(heldOut), randomAverage);
+        if (kept.isEmpty()) {
+            System.out.println("No layout beat random placement on held-out hunts, table not saved.");
+            return;
+        }
+        System.out.printf("Keeping %d layouts that beat random, averaging %.2f shots held-out%n",
+                kept.size(), keptTotal / kept.size());
+
+        save(file, kept);
+        System.out.println("Saved " + kept.size() + " layouts to " + file);
+    }
+
+    // average shots the reference hunter needs for each layout, one layout per core at a time
+    private static double[] evaluate(List<String[]> layouts, long huntSeed, int games) {
+        return IntStream.range(0, layouts.size()).parallel().mapToDouble(i -> {
+            long total = 0;
+            for (int g = 0; g < games; g++) {
+                Player target = new Player("Target", true);
+                place(target, layouts.get(i));
+                // within one call every layout faces the same hunter seeds, so scores differ only because of the layout
+                total += GameSimulator.huntShots(target.getBoard(), new AI(null, new Random(huntSeed + g), GameSimulator.book()));
+            }
+            return (double) total / games;
+        }).toArray();
+    }
+
+    private static double average(double[] values) {
+        double total = 0;
+        for (double value : values) total += value;
+        return values.length == 0 ? 0 : total / values.length;
+    }
+
+    private static Integer[] sortedByScore(double[] scores) {
+        Integer[] order = new Integer[scores.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, Comparator.comparingDouble((Integer i) -> scores[i]).reversed());
+        return order;
+    }
+
+    private static String[] randomLayout(Random random) {
+        Player player = new Player("Layout", true);
+        new AI(null, random, null).placeRandomly(player); // no book needed just to place ships
+        return layoutOf(player);
+    }
+
+    // moves one ship of the layout to a new random spot that still fits
+    private static String[] mutate(String[] layout, Random random) {
+        int moved = random.nextInt(layout.length);
+        while (true) {
+            String[] candidate = layout.clone();
+            char col = (char) ('A' + random.nextInt(Board.getSize()));
+            int row = random.nextInt(Board.getSize()) + 1;
+            candidate[moved] = col + "" + row + (random.nextBoolean() ? "H" : "V");
+            if (place(new Player("Layout", true), candidate)) {
+                return candidate;
+            }
+        }
+    }
+
+    // one entry per ship in fleet order: start coordinate followed by H or V, e.g. "C4H"
+    private static String[] layoutOf(Player player) {
+        List<Ship> ships = player.getShips();
+        String[] layout = new String[ships.size()];
+        for (int i = 0; i < layout.length; i++) {
+            List<int[]> positions = ships.get(i).getPositions();
+            int[] first = positions.get(0);
+            boolean horizontal = positions.size() > 1 && positions.get(1)[0] == first[0];
+            layout[i] = (char) ('A' + first[1]) + "" + (first[0] + 1) + (horizontal ? "H" : "V");
+        }
+        return layout;
+    }
+
+    // places every ship of the player as the layout says, false if any ship doesn't fit
+    public static boolean place(Player player, String[] layout) {
+        List<Ship> ships = player.getShips();
+        if (layout.length != ships.size()) return false;
+        for (int i = 0; i < layout.length; i++) {
+            String entry = layout[i];
+            String coord = entry.substring(0, entry.length() - 1);
+            boolean horizontal = entry.endsWith("H");
+            if (!player.getBoard().placeShip(ships.get(i), coord, horizontal)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // the same layout after one of the board's 8 rotations/reflections
+    public static String[] transform(String[] layout, int symmetry) {
+        String[] turned = new String[layout.length];
+        Board parser = new Board();
+        for (int i = 0; i < layout.length; i++) {
+            String entry = layout[i];
+            int[] start = parser.parseCoordinate(entry.substring(0, entry.length() - 1));
+            if (start == null) return layout;
+            boolean horizontal = entry.endsWith("H");
+            int length = Player.FLEET_LENGTHS[i];
+            int[] end = {horizontal ? start[0] : start[0] + length - 1, horizontal ? start[1] + length - 1 : start[1]};
+
+            int[] a = Board.transform(symmetry, start[0], start[1]);
+            int[] b = Board.transform(symmetry, end[0], end[1]);
+            int row = Math.min(a[0], b[0]);
+            int col = Math.min(a[1], b[1]);
+            turned[i] = (char) ('A' + col) + "" + (row + 1) + (a[0] == b[0] ? "H" : "V");
+        }
+        return turned;
+    }
+
+    // the saved table, empty if the optimiser hasn't been run or it was made for another fleet
+    public static synchronized List<String[]> layouts() {
+        if (table == null) {
+            table = load(defaultFile());
+        }
+        return table;
+    }
+
+    private static String fleetHeader() {
+        return "# fleet " + Arrays.toString(Player.FLEET_LENGTHS) + " board " + Board.getSize();
+    }
+
+    private static List<String[]> load(Path file) {
+        List<String[]> layouts = new ArrayList<>();
+        if (!Files.isRegularFile(file)) return layouts;
+        try {
+            List<String> lines = Files.readAllLines(file);
+            if (lines.isEmpty() || !lines.get(0).equals(fleetHeader())) return layouts;
+            for (String line : lines.subList(1, lines.size())) {
+                String[] layout = line.trim().split("\\s+");
+                if (layout.length == Player.FLEET_LENGTHS.length) {
+                    layouts.add(layout);
+                }
+            }
+        } catch (IOException e) {
+            // unreadable table: AI falls back to random placement
+        }
+        return Collections.unmodifiableList(layouts);
+    }
+
+    private static void save(Path file, List<String[]> layouts) {
+        List<String> lines = new ArrayList<>();
+        lines.add(fleetHeader());
+        for (String[] layout : layouts) {
+            lines.add(String.join(" ", layout));
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = Files.createTempFile(file.getParent(), "layouts", ".tmp");
+            Files.write(tmp, lines);
+            ShipHunters.replaceFile(tmp, file);
+        } catch (IOException e) {
+            System.out.println("Could not save layouts: " + e.getMessage());
+        }
+    }
+}
+
+/**
+ * TargetDensity class estimating how likely each cell is to hold a ship
+ * Counts every way the remaining ships could still be placed
+ */
+class TargetDensity {
+    private static final int size = Board.getSize();
+    static final double HIT_WEIGHT = 30.0; // a placement through an unresolved hit is this much more likely, per hit
+
+    // expected number of ship pieces on each cell, given the ships still afloat (lengths),
+    // cells known to hold no live ship piece (blocked) and hits not yet part of a sunk ship.
+    // Cells that are blocked or already hit get 0.
+    public static double[] compute(int[] lengths, boolean[] blocked, boolean[] hits) {
+        double[] density = new double[size * size];
+        double[] cover = new double[size * size];
+
+        for (int length : lengths) {
+            Arrays.fill(cover, 0);
+            double total = 0;
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    for (int dir = 0; dir < (length > 1 ? 2 : 1); dir++) {
+                        boolean horizontal = dir == 0;
+                        if ((horizontal ? col : row) + length > size) continue;
+
+                        double weight = 1.0;
+                        boolean fits = true;
+                        for (int k = 0; k < length && fits; k++) {
+                            int index = horizontal ? row * size + col + k : (row + k) * size + col;
+                            if (blocked[index]) fits = false;
+                            else if (hits[index]) weight *= HIT_WEIGHT;
+                        }
+                        if (!fits) continue;
+
+                        total += weight;
+                        for (int k = 0; k < length; k++) {
+                            cover[horizontal ? row * size + col + k : (row + k) * size + col] += weight;
+                        }
+                    }
+                }
+            }
+            if (total == 0) continue;
+            for (int i = 0; i < density.length; i++) {
+                density[i] += cover[i] / total;
+            }
+        }
+
+        for (int i = 0; i < density.length; i++) {
+            if (blocked[i] || hits[i]) density[i] = 0;
+        }
+        return density;
+    }
+}
+
+/**
+ * OpeningBook class holding the best first hunt shots for the standard fleet
+ * Computed once per fleet/board setup, cached on disk and loaded on first use
+ */
+class OpeningBook {
+    public static final int BOOK_SHOTS = 12; // hunt shots taken from the book before the AI picks freely
+
+    private static List<String> shots; // loaded on first use
+
+    // identifies the fleet/board setup the book was computed for
+    private static String configuration() {
+        return "board " + Board.getSize() + " fleet " + Arrays.toString(Player.FLEET_LENGTHS);
+    }
+
+    public static Path file() {
+        return ShipHunters.dataDir().resolve("opening-" + Integer.toHexString(configuration().hashCode()) + ".book");
+    }
+
+    public static synchronized List<String> shots() {
+        if (shots == null) {
+            shots = load(file());
+            if (shots == null) {
+                shots = compute();
+                save(file(), shots);
+            }
+        }
+        return shots;
+    }
+
+    // short hash naming a book, so results can say which one they were played with
+    public static String fingerprint(List<String> order) {
+        return Integer.toHexString((configuration() + " " + String.join(" ", order)).hashCode());
+    }
+
+    // greedy order: each shot goes to the most likely cell, assuming every earlier book shot missed
+    static List<String> compute() {
+        int size = Board.getSize();
+        boolean[] blocked = new boolean[size * size];
+        boolean[] hits = new boolean[size * size];
+        List<String> order = new ArrayList<>();
+
+        while (order.size() < BOOK_SHOTS) {
+            double[] density = TargetDensity.compute(Player.FLEET_LENGTHS, blocked, hits);
+            int best = -1;
+            for (int i = 0; i < density.length; i++) {
+                if (!blocked[i] && (best < 0 || density[i] > density[best])) best = i;
+            }
+            if (best < 0) break;
+            blocked[best] = true;
+            order.add((char) ('A' + best % size) + "" + (best / size + 1));
+        }
+        return Collections.unmodifiableList(order);
+    }
+
+    // null if there is no book for this setup yet
+    private static List<String> load(Path file) {
+        if (!Files.isRegularFile(file)) return null;
+        try {
+            List<String> lines = Files.readAllLines(file);
+            if (lines.size() < 2 || !lines.get(0).equals(configuration())) return null;
+            return Collections.unmodifiableList(Arrays.asList(lines.get(1).trim().split("\\s+")));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void save(Path file, List<String> order) {
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = Files.createTempFile(file.getParent(), "opening", ".tmp");
+            Files.write(tmp, Arrays.asList(configuration(), String.join(" ", order)));
+            ShipHunters.replaceFile(tmp, file);
+        } catch (IOException e) {
+            // ignore if it fails — the book is recomputed next time
+        }
+    }
+}
+
+/**
+ * AI class implementing smart opponent behavior
+ * Uses hunt and target mode for strategic ship hunting
+ */
+class AI {
+    private static final int size = Board.getSize();
+
+    private Random random;
+    // cells are numbered col * size + row, so walking the bits goes A1, A2 .. A10, B1 ..
+    private long[] availableTargets;  // bit set for every cell not fired at yet
+    private int availableCount;
+    private byte[] targetQueue;       // cells to follow up on, oldest first
+    private int queueLength;
+    private boolean huntMode;
+    private int lastHit;
+    private PlacementModel placementModel; // null means every cell is equally likely
+    private List<String> book;    // opening book shots, null to hunt without one
+    private int bookSymmetry; // board rotation/reflection applied to the opening book this game
+    private int huntShots;    // hunt-mode shots taken so far
+
+    public AI() {
+        this(null);
+    }
+
+    public AI(PlacementModel placementModel) {
+        this(placementModel, new Random());
+    }
+
+    public AI(PlacementModel placementModel, Random random) {
+        this(placementModel, random, OpeningBook.shots());
+    }
+
+    // seeded constructor with an explicit book, so simulated games can be repeated exactly
+    public AI(PlacementModel placementModel, Random random, List<String> book) {
+        this.placementModel = placementModel;
+        this.random = random;
+        this.book = book;
+        bookSymmetry = random.nextInt(8);
+        availableTargets = new long[(size * size + 63) / 64];
+        targetQueue = new byte[size * size];
+        huntMode = true;
+        lastHit = -1;
+        initializeTargets();
+    }
+
+    private void initializeTargets() {
+        for (int cell = 0; cell < size * size; cell++) {
+            availableTargets[cell >>> 6] |= 1L << cell;
+        }
+        availableCount = size * size;
+    }
+
+    private boolean isAvailable(int cell) {
+        return (availableTargets[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    private void removeAvailable(int cell) {
+        if (!isAvailable(cell)) return;
+        availableTargets[cell >>> 6] &= ~(1L << cell);
+        availableCount--;
+    }
+
+    // the n-th available cell (0-based) in A1, A2 .. J10 order
+    private int nthAvailable(int n) {
+        for (int w = 0; w < availableTargets.length; w++) {
+            int inWord = Long.bitCount(availableTargets[w]);
+            if (n < inWord) {
+                long bits = availableTargets[w];
+                for (int i = 0; i < n; i++) bits &= bits - 1; // drop the lowest set bits
+                return w * 64 + Long.numberOfTrailingZeros(bits);
+            }
+            n -= inWord;
+        }
+        return -1;
+    }
+
+    private int queueIndexOf(int cell) {
+        for (int i = 0; i < queueLength; i++) {
+            if (targetQueue[i] == cell) return i;
+        }
+        return -1;
+    }
+
+    private void removeQueued(int index) {
+        System.arraycopy(targetQueue, index + 1, targetQueue, index, queueLength - index - 1);
+        queueLength--;
+    }
+
+    private static String cellName(int cell) {
+        return (char) ('A' + cell / size) + "" + (cell % size + 1);
+    }
+
+    // cell number for a coordinate like "C7", -1 if it is not on the board
+    private int cellOf(String coord) {
+        int[] parsed = parseCoordinate(coord);
+        if (parsed == null || parsed[0] < 0 || parsed[0] >= size || parsed[1] < 0 || parsed[1] >= size) return -1;
+        return parsed[1] * size + parsed[0];
+    }
+
+    public void placeShips(Player aiPlayer) {
+        // prefer a hard-to-hunt layout from the optimiser's table, turned a random way
+        List<String[]> layouts = PlacementOptimizer.layouts();
+        if (!layouts.isEmpty()) {
+            String[] layout = layouts.get(random.nextInt(layouts.size()));
+            String[] turned = PlacementOptimizer.transform(layout, random.nextInt(8));
+            if (PlacementOptimizer.place(aiPlayer, turned)) {
+                return;
+            }
+            aiPlayer.resetFleet(); // table didn't fit, fall back to random placement
+        }
+        placeRandomly(aiPlayer);
+    }
+
+    public void placeRandomly(Player aiPlayer) {
+        for (Ship ship : aiPlayer.getShips()) {
+            boolean placed = false;
+            while (!placed) {
+                int row = random.nextInt(10);
+                char col = (char) ('A' + random.nextInt(10));
+                boolean horizontal = random.nextBoolean();
+                String coord = col + "" + (row + 1);
+                placed = aiPlayer.getBoard().placeShip(ship, coord, horizontal);
+            }
+        }
+    }
+
+    public String makeMove() {
+        int target;
+
+        if (queueLength > 0) {
+            // Target mode - follow up on hits
+            target = targetQueue[0];
+            removeQueued(0);
+        } else {
+            // Hunt mode - random selection, weighted towards cells humans like to use
+            if (availableCount == 0) {
+                return null;
+            }
+            target = useBook() ? nextBookShot() : -1;
+            if (target < 0) {
+                target = pickHuntTarget();
+            }
+            huntShots++;
+        }
+
+        removeAvailable(target);
+        return cellName(target);
+    }
+
+    private boolean useBook() {
+        return book != null && huntShots < OpeningBook.BOOK_SHOTS;
+    }
+
+    // a random opening book cell not shot yet, turned by this game's symmetry, so the opening
+    // can't be learned from its order; cells where humans like to put ships come up first more often
+    private int nextBookShot() {
+        int[] open = new int[OpeningBook.BOOK_SHOTS];
+        int count = 0;
+        for (String shot : book) {
+            int cell = cellOf(shot);
+            if (cell < 0) continue;
+            int[] turned = Board.transform(bookSymmetry, cell % size, cell / size);
+            int target = turned[1] * size + turned[0];
+            if (isAvailable(target) && count < open.length) {
+                open[count++] = target;
+            }
+        }
+        if (count == 0) return -1;
+        return placementModel == null ? open[random.nextInt(count)] : pickWeighted(open, count);
+    }
+
+    private int pickHuntTarget() {
+        if (placementModel == null) {
+            return nthAvailable(random.nextInt(availableCount));
+        }
+
+        int[] cells = new int[availableCount];
+        int n = 0;
+        for (int cell = 0; cell < size * size; cell++) {
+            if (isAvailable(cell)) cells[n++] = cell;
+        }
+        return pickWeighted(cells, n);
+    }
+
+    // one of the first n cells, each as likely as the placement model's weight for it
+    private int pickWeighted(int[] cells, int n) {
+        double[] weights = new double[n];
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            weights[i] = placementModel.weight(cells[i] % size, cells[i] / size);
+            total += weights[i];
+        }
+
+        double pick = random.nextDouble() * total;
+        for (int i = 0; i < n; i++) {
+            pick -= weights[i];
+            if (pick < 0) {
+                return cells[i];
+            }
+        }
+        return cells[n - 1];
+    }
+
+    public void processResult(String target, String result) {
+        if (result.equals("HIT")) {
+            lastHit = cellOf(target);
+            huntMode = false;
+            addAdjacentTargets(target);
+        } else if (result.equals("MISS")) {
+            if (queueLength == 0) {
+                huntMode = true;
+            }
+        }
+    }
+
+    // learns from a shot someone else fired at the board this AI is tracking
+    public void observe(String target, String result) {
+        int cell = cellOf(target);
+        if (cell >= 0) {
+            removeAvailable(cell);
+            int queued = queueIndexOf(cell);
+            if (queued >= 0) removeQueued(queued);
+        }
+        if (result.equals("HIT")) {
+            processResult(target, result);
+        }
+    }
+
+    private void addAdjacentTargets(String coord) {
+        int[] parsed = parseCoordinate(coord);
+        if (parsed == null) return;
+
+        int row = parsed[0]; // 0-indexed (0-9)
+        int col = parsed[1]; // 0-indexed (0-9)
+
+        // Add adjacent cells (up, down, left, right)
+        // addTargetIfValid expects 1-indexed row (1-10)
+        addTargetIfValid((char) ('A' + col), row); // up: row-1 in 0-indexed = row in 1-indexed
+        addTargetIfValid((char) ('A' + col), row + 2); // down: row+1 in 0-indexed = row+2 in 1-indexed
+        addTargetIfValid((char) ('A' + col - 1), row + 1); // left
+        addTargetIfValid((char) ('A' + col + 1), row + 1); // right
+    }
+
+    private void addTargetIfValid(char col, int row) {
+        if (col >= 'A' && col <= 'J' && row >= 1 && row <= 10) {
+            int target = (col - 'A') * size + row - 1;
+            if (isAvailable(target) && queueIndexOf(target) < 0) {
+                targetQueue[queueLength++] = (byte) target;
+            }
+        }
+    }
+
+    private int[] parseCoordinate(String coord) {
+        if (coord == null || coord.length() < 2) return null;
+
+        char colChar = coord.charAt(0);
+        try {
+            int row = Integer.parseInt(coord.substring(1)) - 1;
+            int col = colChar - 'A';
+            return new int[]{row, col};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // the getters build a new list each call; use the setters to change what the AI tracks
+    public List<String> getAvailableTargets() {
+        List<String> targets = new ArrayList<>(availableCount);
+        for (int cell = 0; cell < size * size; cell++) {
+            if (isAvailable(cell)) targets.add(cellName(cell));
+        }
+        return targets;
+    }
+
+    public void setAvailableTargets(List<String> targets) {
+        Arrays.fill(availableTargets, 0);
+        availableCount = 0;
+        for (String target : targets) {
+            int cell = cellOf(target);
+            if (cell >= 0 && !isAvailable(cell)) {
+                availableTargets[cell >>> 6] |= 1L << cell;
+                availableCount++;
+            }
+        }
+    }
+
+    public List<String> getTargetQueue() {
+        List<String> queue = new ArrayList<>(queueLength);
+        for (int i = 0; i < queueLength; i++) {
+            queue.add(cellName(targetQueue[i]));
+        }
+        return queue;
+    }
+
+    public boolean hasTargetsQueued() {
+        return queueLength > 0;
+    }
+
+    public void setTargetQueue(List<String> queue) {
+        queueLength = 0;
+        for (String target : queue) {
+            int cell = cellOf(target);
+            if (cell >= 0 && queueIndexOf(cell) < 0) {
+                targetQueue[queueLength++] = (byte) cell;
+            }
+        }
+    }
+}
+
+/**
+ * GameEngine class managing game flow and logic
+ */
+class GameEngine {
+    // display pause only: lets the human read their shot result before the AI's turn clears the screen.
+    // The AI's thinking happens earlier, in the background, and is not hidden behind this pause.
+    private static final long RESULT_DISPLAY_MS = 700;
+
+    private Player player1;
+    private Player player2;
+    private AI aiOpponent;
+    private Scanner scanner;
+    private int turnCount;
+    private Future<String> pendingAiMove; // AI move being worked out while the human plays, null when none
+    private ExecutorService aiThinker;    // background thread for pendingAiMove, only when there is an AI
+    private PlacementModel placementModel;
+    private TargetAssist assist; // null unless the human asked for the targeting assist
+    private List<Integer> shotLog = new ArrayList<>(); // every shot, packed like GameResult.packShot
+
+    public GameEngine(Player player1, Player player2) {
+        this.player1 = player1;
+        this.player2 = player2;
+        this.scanner = ShipHunters.getScanner();
+        this.turnCount = 0;
+        // loaded per game rather than at program start; the file is only a few hundred bytes
+        this.placementModel = PlacementModel.load(PlacementModel.defaultFile());
+        if (player2.isAI()) {
+            aiOpponent = new AI(placementModel);
+            aiThinker = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "ai-thinker");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public void setupPhase() {
+        ShipHunters.clearTerminal();
+        System.out.println("\n⫘⫘⫘⫘⫘⫘⫘⫘⫘ SETUP PHASE ⫘⫘⫘⫘⫘⫘⫘⫘⫘");
+
+        // Player 1 setup
+        System.out.println("\n" + player1.getName() + ", deploy your fleet!");
+        setupPlayerShips(player1);
+
+        // Player 2 setup (AI placement is silent)
+        if (player2.isAI()) {
+            aiOpponent.placeShips(player2);
+        } else {
+            System.out.println("\n" + player2.getName() + ", place your ships!");
+            setupPlayerShips(player2);
+        }
+
+        System.out.print("\nTurn on the targeting assist? (Y/N): ");
+        if (scanner.nextLine().trim().equalsIgnoreCase("Y")) {
+            assist = new TargetAssist();
+        }
+
+        System.out.println("\nAll ships placed!");
+        System.out.println("Press Enter to continue...");
+        scanner.nextLine();
+    }
+
+
+    // interactive placement for a human player, also used by FreeForAllEngine
+    static void setupPlayerShips(Player player) {
+        Scanner scanner = ShipHunters.getScanner();
+        for (Ship ship : player.getShips()) {
+            boolean placed = false;
+            while (!placed) {
+                ShipHunters.clearTerminal();
+                player.getBoard().display(true);
+
+                System.out.println("\nPlace your " + ship.getName() + " (Length: " + ship.getLength() + ")");
+                System.out.print("\nEnter your starting coordinate (A1): ");
+                String coord = scanner.nextLine().toUpperCase();
+
+                System.out.print("Horizontal or Vertical? (H/V): ");
+                String direction = scanner.nextLine().toUpperCase();
+                boolean horizontal = direction.equals("H");
+
+                placed = player.getBoard().placeShip(ship, coord, horizontal);
+
+                if (!placed) {
+                    System.out.println("\nInvalid placement! Try again.");
+                    System.out.println("Press Enter to continue...");
+                    scanner.nextLine();
+                }
+            }
+        }
+
+        // Show player's final board and pause briefly (no Enter required)
+        ShipHunters.clearTerminal();
+        System.out.println("\n" + player.getName() + "'s final board:");
+        player.getBoard().display(true);
+
+        // brief pause so user can see the final board before continuing
+        try {
+            Thread.sleep(2500); // 1000 ms = 1 second
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    public void battlePhase() {
+        ShipHunters.clearTerminal();
+        System.out.println("\n========== BATTLE PHASE ==========");
+
+        Player currentPlayer = player1;
+        Player opponent = player2;
 
         while (!player1.allShipsSunk() && !player2.allShipsSunk()) {
             turnCount++;
@@ -745,6 +3446,11 @@ class GameEngine {
             if (currentPlayer.isAI()) {
                 aiTurn(currentPlayer, opponent);
             } else {
+                // the AI's next move doesn't depend on this shot, so it is worked out
+                // while the human reads the boards and types
+                if (opponent.isAI()) {
+                    pendingAiMove = aiThinker.submit(aiOpponent::makeMove);
+                }
                 playerTurn(currentPlayer, opponent);
             }
 
@@ -759,24 +3465,33 @@ class GameEngine {
             currentPlayer = opponent;
             opponent = temp;
 
-            // If next player is AI, short pause for readability; if human, proceed immediately
+            // the next turn clears the screen: short pause before the AI's turn so the human can read
+            // their result, and before a human's turn wait until they have read what just happened
             if (currentPlayer.isAI()) {
                 try {
-                    Thread.sleep(1500);
+                    Thread.sleep(RESULT_DISPLAY_MS);
                 } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
                 }
+            } else {
+                System.out.println("\nPress Enter to continue...");
+                scanner.nextLine();
             }
         }
     }
 
     private void playerTurn(Player player, Player opponent) {
+        // the first turn has no map yet, later ones were started when the last shot landed
+        if (assist != null && !assist.isStarted(opponent)) assist.start(opponent);
+
         System.out.println("\nYour board:");
         player.getBoard().display(true);
 
         System.out.println("\nOpponent's board:");
         opponent.getBoard().display(false);
 
+        if (assist != null) assist.show(opponent);
+
         boolean validShot = false;
         while (!validShot) {
             System.out.print("\nEnter your target (A1): ");
@@ -799,6 +3514,11 @@ class GameEngine {
                 } else {
                     System.out.println("\n*** MISS! ***");
                 }
+                logShot(player, opponent, target, result.equals("HIT"));
+
+                // the board only changes again on this player's next shot, so the map for their next
+                // turn can be worked out during the other player's turn
+                if (assist != null) assist.start(opponent);
 
                 System.out.println("\nOpponent's board after your shot:");
                 opponent.getBoard().display(false);
@@ -809,7 +3529,9 @@ class GameEngine {
     private void aiTurn(Player ai, Player opponent) {
         System.out.println("\nAI is thinking...");
 
-        String target = aiOpponent.makeMove();
+        // use the move worked out during the human's turn, or think now if the AI moves first
+        String target = pendingAiMove != null ? awaitAiMove() : aiOpponent.makeMove();
+        pendingAiMove = null;
         if (target == null) {
             return;
         }
@@ -828,29 +3550,81 @@ class GameEngine {
             System.out.println("AI missed at " + target + ".");
             aiOpponent.processResult(target, "MISS");
         }
+        logShot(ai, opponent, target, result.equals("HIT"));
 
         System.out.println("\nYour board after AI's shot:");
         opponent.getBoard().display(true);
     }
 
-    private void checkForSunkenShip(Player player, String target) {
+    private String awaitAiMove() {
+        try {
+            return pendingAiMove.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("AI failed to choose a move", e.getCause());
+        }
+    }
+
+    // keeps the shot for the post-game analysis
+    private void logShot(Player shooter, Player opponent, String target, boolean hit) {
+        int size = Board.getSize();
+        int[] coords = opponent.getBoard().parseCoordinate(target);
+        int sunk = 0;
+        for (int i = 0; i < opponent.getShips().size(); i++) {
+            Ship ship = opponent.getShips().get(i);
+            if (ship.occupies(coords[0], coords[1]) && ship.isSunk()) sunk = i + 1;
+        }
+        shotLog.add(GameResult.packShot(turnCount, shooter == player1 ? 0 : 1, coords[0] * size + coords[1], hit, sunk));
+    }
+
+    static void checkForSunkenShip(Player player, String target) {
+        Ship ship = registerHit(player, target);
+        if (ship != null && ship.isSunk()) {
+            System.out.println("*** " + ship.getName() + " has been SUNK! ***");
+        }
+    }
+
+    // counts a hit on whichever of the player's ships covers target, returns that ship (null if none)
+    static Ship registerHit(Player player, String target) {
         int[] coords = player.getBoard().parseCoordinate(target);
-        if (coords == null) return;
+        if (coords == null) return null;
 
         for (Ship ship : player.getShips()) {
-            for (int[] pos : ship.getPositions()) {
-                if (pos[0] == coords[0] && pos[1] == coords[1]) {
-                    ship.hit();
-                    if (ship.isSunk()) {
-                        System.out.println("*** " + ship.getName() + " has been SUNK! ***");
-                    }
-                    return;
-                }
+            if (ship.occupies(coords[0], coords[1])) {
+                ship.hit();
+                return ship;
+            }
+        }
+        return null;
+    }
+
+    // teach the placement model where the human(s) put their fleet this game
+    private void recordHumanPlacements() {
+        for (Player player : new Player[]{player1, player2}) {
+            if (!player.isAI()) {
+                placementModel.record(player.getShips());
             }
         }
+        placementModel.save();
     }
 
     private void endGame(Player winner) {
+        // rate every shot of the game, both sides, in the background while the result and statistics print
+        Player[] players = {player1, player2};
+        int[] shots = shotLog.stream().mapToInt(Integer::intValue).toArray();
+        ExecutorService analyst = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "shot-analyzer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Future<List<ShotAnalyzer.Rating>> rated = analyst.submit(() -> ShotAnalyzer.analyze(shots, players));
+        analyst.shutdown();
+
+        recordHumanPlacements();
+        if (assist != null) assist.shutdown();
+        if (aiThinker != null) aiThinker.shutdownNow();
         ShipHunters.clearTerminal();
 
         String PURPLE = ShipHunters.ANSI_PURPLE;
@@ -887,14 +3661,375 @@ class GameEngine {
         System.out.println(PINK + "  Accuracy: " + RESET + String.format("%.2f", winner.getAccuracy()) + "%");
         System.out.println(PINK + "  Turns to Win: " + RESET + turnCount);
 
+        List<ShotAnalyzer.Rating> ratings = awaitRatings(rated);
+        ShotAnalyzer.printSummary(ratings, players);
+
         // Prompt once, then reset colors so the terminal returns to normal
-        System.out.println("\nPress Enter to return to main menu...");
-        scanner.nextLine();
+        System.out.println("\nType S then Enter to see every shot rated, or just Enter to return to main menu...");
+        if (scanner.nextLine().trim().equalsIgnoreCase("S")) {
+            ShotAnalyzer.printShots(ratings, players);
+            System.out.println("\nPress Enter to return to main menu...");
+            scanner.nextLine();
+        }
 
         // Reset per-text ANSI and global Windows color (if used)
         System.out.print(ShipHunters.ANSI_RESET);
         ShipHunters.resetConsoleColors();
     }
+
+    // the shot ratings once the background analysis is done, none if it failed
+    private static List<ShotAnalyzer.Rating> awaitRatings(Future<List<ShotAnalyzer.Rating>> rated) {
+        try {
+            return rated.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.out.println("\n(Shot analysis failed: " + e.getCause() + ")");
+        }
+        return new ArrayList<>();
+    }
+}
+
+/**
+ * FreeForAllEngine class managing a game between 3 or more players
+ * Every round each player picks one shot at any opponent, AI players choose in parallel,
+ * then all shots land in seat order so the result doesn't depend on thread timing
+ */
+class FreeForAllEngine {
+    static final int MAX_PLAYERS = 16;
+
+    private final List<Player> players;
+    private final AI[][] trackers;    // trackers[shooter][target]: an AI's view of each opponent board, null for humans
+    private final Random[] pickers;   // per-shooter random for choosing which opponent to shoot
+    private final int[] eliminatedIn; // round each player lost their fleet, 0 while still in the game
+    private final PlacementModel placementModel;
+    private final Scanner scanner;
+    private int round;
+
+    // one chosen shot: who fires, at whose board and where
+    private static class Shot {
+        final int shooter;
+        final int target;
+        final String cell;
+
+        Shot(int shooter, int target, String cell) {
+            this.shooter = shooter;
+            this.target = target;
+            this.cell = cell;
+        }
+    }
+
+    public FreeForAllEngine(List<Player> players) {
+        this.players = players;
+        this.scanner = ShipHunters.getScanner();
+        this.placementModel = PlacementModel.load(PlacementModel.defaultFile());
+        this.trackers = new AI[players.size()][players.size()];
+        this.pickers = new Random[players.size()];
+        this.eliminatedIn = new int[players.size()];
+        this.round = 0;
+
+        for (int i = 0; i < players.size(); i++) {
+            if (!players.get(i).isAI()) continue;
+            pickers[i] = new Random();
+            for (int j = 0; j < players.size(); j++) {
+                if (j != i) {
+                    trackers[i][j] = new AI(placementModel);
+                }
+            }
+        }
+    }
+
+    public void setupPhase() {
+        ShipHunters.clearTerminal();
+        System.out.println("\n⫘⫘⫘⫘⫘⫘⫘⫘⫘ SETUP PHASE ⫘⫘⫘⫘⫘⫘⫘⫘⫘");
+
+        for (Player player : players) {
+            if (player.isAI()) {
+                new AI(placementModel).placeShips(player); // silent
+            } else {
+                handOver(player);
+                System.out.println("\n" + player.getName() + ", deploy your fleet!");
+                GameEngine.setupPlayerShips(player);
+            }
+        }
+
+        System.out.println("\nAll ships placed!");
+        if (hasHumans()) {
+            System.out.println("Press Enter to continue...");
+            scanner.nextLine();
+        }
+    }
+
+    public void battlePhase() {
+        // one thread per core, so a round of AI thinking scales with players / cores
+        int threads = Runtime.getRuntime().availableProcessors();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "ffa-ai");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            while (playersLeft() > 1) {
+                round++;
+                ShipHunters.clearTerminal();
+                System.out.println("\n⫘⫘⫘⫘⫘⫘⫘⫘⫘  ROUND " + round + " ⫘⫘⫘⫘⫘⫘⫘⫘⫘");
+
+                // AI players think in the background while humans choose at the console
+                List<Future<Shot>> aiShots = new ArrayList<>();
+                for (int i = 0; i < players.size(); i++) {
+                    if (isAlive(i) && players.get(i).isAI()) {
+                        final int shooter = i;
+                        aiShots.add(pool.submit(() -> chooseAiShot(shooter)));
+                    }
+                }
+
+                List<Shot> shots = new ArrayList<>();
+                for (int i = 0; i < players.size(); i++) {
+                    if (isAlive(i) && !players.get(i).isAI()) {
+                        shots.add(chooseHumanShot(i));
+                    }
+                }
+                for (Future<Shot> future : aiShots) {
+                    Shot shot = await(future);
+                    if (shot != null) shots.add(shot);
+                }
+
+                // land every shot in seat order
+                shots.sort(Comparator.comparingInt(shot -> shot.shooter));
+                System.out.println();
+                for (Shot shot : shots) {
+                    applyShot(shot);
+                }
+
+                for (int i = 0; i < players.size(); i++) {
+                    if (isAlive(i) && players.get(i).allShipsSunk()) {
+                        eliminatedIn[i] = round;
+                        System.out.println("*** " + players.get(i).getName() + " has lost their whole fleet! ***");
+                    }
+                }
+
+                if (hasHumans()) {
+                    System.out.println("\nPress Enter to continue...");
+                    scanner.nextLine();
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        endGame();
+    }
+
+    // runs on a pool thread; only touches this shooter's own trackers and picker
+    private Shot chooseAiShot(int shooter) {
+        // follow up on an earlier hit if there is one, otherwise pick any opponent still in the game
+        List<Integer> following = new ArrayList<>();
+        List<Integer> alive = new ArrayList<>();
+        for (int j = 0; j < players.size(); j++) {
+            if (j == shooter || !isAlive(j)) continue;
+            alive.add(j);
+            if (trackers[shooter][j].hasTargetsQueued()) {
+                following.add(j);
+            }
+        }
+        List<Integer> choices = following.isEmpty() ? alive : following;
+        if (choices.isEmpty()) return null;
+
+        int target = choices.get(pickers[shooter].nextInt(choices.size()));
+        String cell = trackers[shooter][target].makeMove();
+        return cell == null ? null : new Shot(shooter, target, cell);
+    }
+
+    private Shot chooseHumanShot(int shooter) {
+        Player player = players.get(shooter);
+        if (handOver(player)) {
+            System.out.println("\n⫘⫘⫘⫘⫘⫘⫘⫘⫘  ROUND " + round + " ⫘⫘⫘⫘⫘⫘⫘⫘⫘");
+        }
+        System.out.println("\n" + player.getName() + "'s turn");
+        System.out.println("\nYour board:");
+        player.getBoard().display(true);
+
+        List<Integer> opponents = new ArrayList<>();
+        for (int j = 0; j < players.size(); j++) {
+            if (j != shooter && isAlive(j)) {
+                opponents.add(j);
+                System.out.println("\n[" + opponents.size() + "] " + players.get(j).getName() + "'s board:");
+                players.get(j).getBoard().display(false);
+            }
+        }
+
+        int target = opponents.get(0);
+        if (opponents.size() > 1) {
+            while (true) {
+                System.out.print("\nWhich board do you shoot at? (1-" + opponents.size() + "): ");
+                try {
+                    int choice = Integer.parseInt(scanner.nextLine().trim());
+                    if (choice >= 1 && choice <= opponents.size()) {
+                        target = opponents.get(choice - 1);
+                        break;
+                    }
+                } catch (NumberFormatException e) {
+                    // ask again
+                }
+                System.out.println("Invalid board! Try again.");
+            }
+        }
+
+        return new Shot(shooter, target, askCell(players.get(target).getBoard()));
+    }
+
+    // keeps asking until the human names a cell on board that hasn't been shot
+    private String askCell(Board board) {
+        while (true) {
+            System.out.print("\nEnter your target (A1): ");
+            String cell = scanner.nextLine().toUpperCase();
+            int[] coords = board.parseCoordinate(cell);
+            if (coords == null) {
+                System.out.println("Invalid target! Try again.");
+            } else if (board.isShot(coords[0], coords[1])) {
+                System.out.println("That cell was already shot! Try again.");
+            } else {
+                return cell;
+            }
+        }
+    }
+
+    private void applyShot(Shot shot) {
+        Player shooter = players.get(shot.shooter);
+        Player target = players.get(shot.target);
+        String cell = shot.cell;
+        String result = target.getBoard().shoot(cell);
+
+        // a player whose cell was taken by an earlier seat this round picks again on the same board:
+        // an AI has already seen that shot, a human is asked for another cell
+        AI own = trackers[shot.shooter][shot.target];
+        while (result.equals("ALREADY_SHOT")) {
+            String retry;
+            if (own != null) {
+                retry = own.makeMove();
+            } else {
+                System.out.println(shooter.getName() + ", " + cell + " on " + target.getName()
+                        + "'s board was already shot earlier this round. Pick another cell.");
+                target.getBoard().display(false);
+                retry = askCell(target.getBoard());
+            }
+            if (retry == null) break;
+            cell = retry;
+            result = target.getBoard().shoot(cell);
+        }
+        if (!result.equals("ALREADY_SHOT")) shooter.incrementShotsFired();
+
+        String line = shooter.getName() + " fires at " + target.getName() + " " + cell + ": ";
+        if (result.equals("HIT")) {
+            shooter.incrementShotsHit();
+            System.out.println(line + "HIT!");
+            GameEngine.checkForSunkenShip(target, cell);
+        } else if (result.equals("MISS")) {
+            System.out.println(line + "miss.");
+        } else {
+            System.out.println(line + "already hit earlier this round.");
+            return;
+        }
+
+        // every AI watching this board learns the result, the shooter's own tracker included
+        for (int k = 0; k < players.size(); k++) {
+            AI tracker = trackers[k][shot.target];
+            if (tracker == null) continue;
+            if (k == shot.shooter) {
+                tracker.processResult(cell, result);
+            } else {
+                tracker.observe(cell, result);
+            }
+        }
+    }
+
+    private Shot await(Future<Shot> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("AI failed to choose a shot", e.getCause());
+        }
+    }
+
+    private boolean isAlive(int index) {
+        return eliminatedIn[index] == 0;
+    }
+
+    private int playersLeft() {
+        int left = 0;
+        for (int i = 0; i < players.size(); i++) {
+            if (isAlive(i)) left++;
+        }
+        return left;
+    }
+
+    // with several humans at one keyboard, nobody should see another player's fleet:
+    // blank the screen and wait until the next player has the keyboard
+    private boolean handOver(Player player) {
+        if (countHumans() < 2) return false;
+        ShipHunters.clearTerminal();
+        System.out.println("\nPass the keyboard to " + player.getName() + ", then press Enter...");
+        scanner.nextLine();
+        ShipHunters.clearTerminal();
+        return true;
+    }
+
+    private boolean hasHumans() {
+        return countHumans() > 0;
+    }
+
+    private int countHumans() {
+        int humans = 0;
+        for (Player player : players) {
+            if (!player.isAI()) humans++;
+        }
+        return humans;
+    }
+
+    private void endGame() {
+        ShipHunters.clearTerminal();
+        String PINK = ShipHunters.ANSI_PINK;
+        String RESET = ShipHunters.ANSI_RESET;
+
+        // last fleet standing first, then by how long each player lasted
+        List<Integer> standings = new ArrayList<>();
+        for (int i = 0; i < players.size(); i++) standings.add(i);
+        standings.sort(Comparator.comparingInt((Integer i) -> isAlive(i) ? Integer.MAX_VALUE : eliminatedIn[i]).reversed());
+
+        int first = standings.get(0);
+        if (isAlive(first)) {
+            System.out.println("\n*** " + players.get(first).getName() + " WINS THE FREE-FOR-ALL! ***");
+        } else {
+            System.out.println("\n*** DRAW! The last fleets sank in the same round. ***");
+        }
+
+        System.out.println(PINK + "\n⫘⫘⫘⫘⫘⫘⫘⫘⫘  FINAL STANDINGS ⫘⫘⫘⫘⫘⫘⫘⫘⫘" + RESET);
+        for (int place = 0; place < standings.size(); place++) {
+            int i = standings.get(place);
+            Player player = players.get(i);
+            String lasted = isAlive(i) ? "survived" : "sunk in round " + eliminatedIn[i];
+            System.out.println(PINK + (place + 1) + ". " + player.getName() + RESET + " (" + lasted + ")"
+                    + "  Shots: " + player.getShotsFired() + "  Hits: " + player.getShotsHit()
+                    + "  Accuracy: " + String.format("%.2f", player.getAccuracy()) + "%");
+        }
+        System.out.println(PINK + "Rounds played: " + RESET + round);
+
+        for (Player player : players) {
+            if (!player.isAI()) placementModel.record(player.getShips());
+        }
+        if (hasHumans()) {
+            placementModel.save();
+        }
+
+        System.out.println("\nPress Enter to return to main menu...");
+        scanner.nextLine();
+        System.out.print(ShipHunters.ANSI_RESET);
+        ShipHunters.resetConsoleColors();
+    }
 }
 
 /* Game Logic